@@ -0,0 +1,162 @@
+package com.reactnativehelpscoutbeacon;
+
+import com.facebook.react.bridge.JavaOnlyArray;
+import com.facebook.react.bridge.JavaOnlyMap;
+import com.helpscout.beacon.model.BeaconUser;
+import com.helpscout.beacon.model.PreFilledForm;
+import com.helpscout.beacon.model.SuggestedArticle;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+
+/**
+ * Measures the decoding of realistic JS payloads into Beacon SDK models.
+ */
+@State(Scope.Benchmark)
+public class PayloadDecoderBenchmark {
+  @State(Scope.Thread)
+  public static class DecoderState {
+    final BeaconSettingsDecoder decoder = new BeaconSettingsDecoder();
+    boolean flip;
+  }
+
+  @Param({"10", "50"})
+  public int attributeCount;
+
+  @Param({"20"})
+  public int suggestionCount;
+
+  private JavaOnlyMap settings;
+  private JavaOnlyMap otherSettings;
+  private JavaOnlyMap identity;
+  private JavaOnlyMap otherIdentity;
+  private JavaOnlyArray suggestions;
+  private JavaOnlyMap formData;
+
+  @Setup
+  public void setUp() {
+    identity = createIdentity("driver@example.com", attributeCount);
+    otherIdentity = createIdentity("manager@example.com", attributeCount);
+    settings = createSettings("#497E76", createIdentity("driver@example.com", attributeCount));
+    otherSettings = createSettings("#000000", createIdentity("manager@example.com", attributeCount));
+    suggestions = createSuggestions(suggestionCount);
+    formData = createFormData();
+  }
+
+  /**
+   * The same settings on every call, as sent by repeated opens.
+   */
+  @Benchmark
+  public BeaconSettingsDecoder.DecodedSettings decodeSettings(DecoderState state) {
+    return state.decoder.decodeSettings(settings);
+  }
+
+  /**
+   * Settings that differ from the previous call, so nothing can be reused.
+   */
+  @Benchmark
+  public BeaconSettingsDecoder.DecodedSettings decodeChangingSettings(DecoderState state) {
+    state.flip = !state.flip;
+    return state.decoder.decodeSettings(state.flip ? settings : otherSettings);
+  }
+
+  @Benchmark
+  public BeaconUser decodeIdentity(DecoderState state) {
+    return state.decoder.decodeIdentity(identity);
+  }
+
+  @Benchmark
+  public BeaconUser decodeChangingIdentity(DecoderState state) {
+    state.flip = !state.flip;
+    return state.decoder.decodeIdentity(state.flip ? identity : otherIdentity);
+  }
+
+  @Benchmark
+  public List<SuggestedArticle> extractBeaconSuggestions() {
+    return BeaconPayloadDecoder.extractBeaconSuggestions(suggestions);
+  }
+
+  @Benchmark
+  public PreFilledForm extractPreFilledForm() {
+    List<String> attachments = BeaconPayloadDecoder.extractAttachments(formData);
+    return BeaconPayloadDecoder.extractPreFilledForm(formData, attachments);
+  }
+
+  private static JavaOnlyMap createSettings(String color, JavaOnlyMap identity) {
+    JavaOnlyMap settings = new JavaOnlyMap();
+    settings.putString("beaconId", "00000000-0000-0000-0000-000000000000");
+    settings.putBoolean("logsEnabled", false);
+    settings.putBoolean("docsEnabled", true);
+    settings.putBoolean("messagingEnabled", true);
+    settings.putBoolean("chatEnabled", false);
+    settings.putString("focusMode", "self-service");
+    settings.putString("color", color);
+    settings.putBoolean("enablePreviousMessages", true);
+    settings.putMap("identity", identity);
+    return settings;
+  }
+
+  private static JavaOnlyMap createIdentity(String email, int attributeCount) {
+    JavaOnlyMap attributes = new JavaOnlyMap();
+    for(int index = 0; index < attributeCount; index++) {
+      attributes.putString("attribute" + index, "value of attribute " + index);
+    }
+
+    JavaOnlyMap identity = new JavaOnlyMap();
+    identity.putString("email", email);
+    identity.putString("name", "Jane Driver");
+    identity.putString("company", "Example Fleet");
+    identity.putString("jobTitle", "Fleet manager");
+    identity.putString("avatar", "https://example.com/avatar.png");
+    identity.putMap("attributes", attributes);
+    return identity;
+  }
+
+  private static JavaOnlyArray createSuggestions(int count) {
+    JavaOnlyArray suggestions = new JavaOnlyArray();
+    for(int index = 0; index < count; index++) {
+      JavaOnlyMap suggestion = new JavaOnlyMap();
+      if(index % 2 == 0) {
+        suggestion.putString("type", "link");
+        suggestion.putString("link", "https://example.com/help/" + index);
+        suggestion.putString("label", "Help topic " + index);
+      } else {
+        suggestion.putString("type", "article");
+        suggestion.putString("articleId", "5f1e0c2d04286306f8069a" + index);
+      }
+      suggestions.pushMap(suggestion);
+    }
+    return suggestions;
+  }
+
+  private static JavaOnlyMap createFormData() {
+    StringBuilder message = new StringBuilder("Device: Pixel 4a, Android 12\n");
+    for(int line = 0; line < 100; line++) {
+      message.append("2022-07-01 12:00:").append(line % 60).append(" I/Sync: uploaded trip ").append(line).append('\n');
+    }
+
+    JavaOnlyMap customFieldValues = new JavaOnlyMap();
+    for(int index = 0; index < 20; index++) {
+      customFieldValues.putString(String.valueOf(1000 + index), "value " + index);
+    }
+
+    JavaOnlyArray attachments = new JavaOnlyArray();
+    for(int index = 0; index < 5; index++) {
+      attachments.pushString("content://com.example.provider/logs/" + index + ".txt");
+    }
+
+    JavaOnlyMap formData = new JavaOnlyMap();
+    formData.putString("name", "Jane Driver");
+    formData.putString("email", "driver@example.com");
+    formData.putString("subject", "Trips are not syncing");
+    formData.putString("message", message.toString());
+    formData.putMap("customFieldValues", customFieldValues);
+    formData.putArray("attachments", attachments);
+    return formData;
+  }
+}
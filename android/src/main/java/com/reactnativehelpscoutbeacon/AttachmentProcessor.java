@@ -0,0 +1,295 @@
+package com.reactnativehelpscoutbeacon;
+
+import android.content.ContentResolver;
+import android.content.Context;
+import android.content.res.AssetFileDescriptor;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.media.ExifInterface;
+import android.net.Uri;
+import android.util.Log;
+
+import androidx.annotation.Nullable;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Prepares contact form attachments before they are handed to Beacon: every attachment is copied
+ * into the app cache, large images are downscaled and recompressed, and the total size of a form's
+ * attachments is capped.
+ */
+final class AttachmentProcessor {
+  private static final String TAG = "HelpScoutBeacon";
+  private static final String DIRECTORY_NAME = "helpscout-beacon-attachments";
+  // Images larger than this are downscaled and recompressed.
+  private static final long IMAGE_SIZE_THRESHOLD = 1024 * 1024;
+  private static final int MAX_IMAGE_DIMENSION = 2048;
+  private static final int JPEG_QUALITY = 85;
+  private static final long FORM_BYTE_BUDGET = 10 * 1024 * 1024;
+  // Largest image copied for downscaling, whatever is left of the budget.
+  private static final long MAX_IMAGE_SOURCE_BYTES = 50 * 1024 * 1024;
+  private static final int MAX_PENDING_FORMS = 4;
+
+  private final Context context;
+  private final ExecutorService executor = new ThreadPoolExecutor(
+    1, 1, 30, TimeUnit.SECONDS,
+    new LinkedBlockingQueue<>(MAX_PENDING_FORMS),
+    runnable -> new Thread(runnable, "HelpScoutBeaconAttachments")
+  );
+  // Guarded by this.
+  private long nextForm;
+
+  AttachmentProcessor(Context context) {
+    this.context = context.getApplicationContext();
+  }
+
+  /**
+   * Processes the attachments on the background executor and waits for the URIs of the prepared
+   * copies.
+   */
+  List<String> process(List<String> attachments) {
+    Future<List<String>> result;
+    try {
+      result = executor.submit(() -> processOnCurrentThread(attachments));
+    } catch(RejectedExecutionException error) {
+      throw new BeaconException("attachments-busy", "Too many contact forms are being prepared", error);
+    }
+
+    try {
+      return result.get();
+    } catch(ExecutionException error) {
+      Throwable cause = error.getCause();
+      if(cause instanceof BeaconException) {
+        throw (BeaconException) cause;
+      }
+      throw new BeaconException("attachments-failed", String.valueOf(cause.getMessage()), cause);
+    } catch(InterruptedException error) {
+      Thread.currentThread().interrupt();
+      throw new BeaconException("attachments-failed", "Interrupted while preparing attachments", error);
+    }
+  }
+
+  private List<String> processOnCurrentThread(List<String> attachments) throws IOException {
+    File directory = new File(context.getCacheDir(), DIRECTORY_NAME);
+    synchronized(this) {
+      // Each form gets its own directory, so the copies of the previous form, which Beacon still
+      // holds, are only deleted once this one is ready.
+      File formDirectory = new File(directory, "form-" + nextForm++);
+      deleteRecursively(formDirectory);
+      if(!formDirectory.mkdirs()) {
+        throw new IOException("Unable to create " + formDirectory);
+      }
+
+      try {
+        List<String> processed = new ArrayList<>(attachments.size());
+        long totalBytes = 0;
+        for(int index = 0; index < attachments.size(); index++) {
+          Uri uri = Uri.parse(attachments.get(index));
+          boolean image = isImage(uri);
+          long remainingBytes = FORM_BYTE_BUDGET - totalBytes;
+          // Large images shrink once downscaled, so they may be copied beyond the budget.
+          File target = copyTarget(formDirectory, index, displayName(uri));
+          copy(uri, target, image ? Math.max(remainingBytes, MAX_IMAGE_SOURCE_BYTES) : remainingBytes);
+          if(target.length() > IMAGE_SIZE_THRESHOLD && image) {
+            target = downscale(target, downscaleTarget(formDirectory, index, displayName(uri)));
+          }
+
+          totalBytes += target.length();
+          if(totalBytes > FORM_BYTE_BUDGET) {
+            throw tooLarge();
+          }
+          processed.add(Uri.fromFile(target).toString());
+        }
+
+        File[] previous = directory.listFiles();
+        if(previous != null) {
+          for(File file : previous) {
+            if(!file.equals(formDirectory)) {
+              deleteRecursively(file);
+            }
+          }
+        }
+        return processed;
+      } catch(IOException | RuntimeException error) {
+        deleteRecursively(formDirectory);
+        throw error;
+      }
+    }
+  }
+
+  private static BeaconException tooLarge() {
+    return new BeaconException("attachments-too-large", "Attachments exceed the " + FORM_BYTE_BUDGET + " bytes budget");
+  }
+
+  /**
+   * Copies the content of the URI into the file, failing with "attachments-too-large" before
+   * copying more than the limit.
+   */
+  private void copy(Uri uri, File target, long limit) throws IOException {
+    ContentResolver resolver = context.getContentResolver();
+    try(AssetFileDescriptor descriptor = resolver.openAssetFileDescriptor(uri, "r")) {
+      if(descriptor == null) {
+        throw new IOException("Unable to open " + uri);
+      }
+      long length = descriptor.getLength();
+      if(length != AssetFileDescriptor.UNKNOWN_LENGTH && length > limit) {
+        throw tooLarge();
+      }
+      try(FileInputStream input = descriptor.createInputStream();
+          FileChannel source = input.getChannel();
+          FileOutputStream output = new FileOutputStream(target);
+          FileChannel destination = output.getChannel()) {
+        if(length == AssetFileDescriptor.UNKNOWN_LENGTH) {
+          // Pipes and sockets have no size; pull from the current position until EOF.
+          long position = 0;
+          long transferred;
+          while((transferred = destination.transferFrom(source, position, 64 * 1024)) > 0) {
+            position += transferred;
+            if(position > limit) {
+              throw tooLarge();
+            }
+          }
+        } else {
+          long start = descriptor.getStartOffset();
+          long position = 0;
+          while(position < length) {
+            long transferred = source.transferTo(start + position, length - position, destination);
+            if(transferred <= 0) {
+              // The declared length overstates the content, e.g. a truncated file.
+              break;
+            }
+            position += transferred;
+          }
+        }
+      }
+    }
+  }
+
+  private File downscale(File source, File target) throws IOException {
+    BitmapFactory.Options options = new BitmapFactory.Options();
+    options.inJustDecodeBounds = true;
+    BitmapFactory.decodeFile(source.getPath(), options);
+    if(options.outWidth <= 0 || options.outHeight <= 0) {
+      return source;
+    }
+
+    int sampleSize = 1;
+    while(Math.max(options.outWidth, options.outHeight) / sampleSize > MAX_IMAGE_DIMENSION) {
+      sampleSize *= 2;
+    }
+    options = new BitmapFactory.Options();
+    options.inSampleSize = sampleSize;
+    Bitmap bitmap = BitmapFactory.decodeFile(source.getPath(), options);
+    if(bitmap == null) {
+      return source;
+    }
+    // The decoder may round the sampled size up; scale down to the exact bound if so.
+    int largest = Math.max(bitmap.getWidth(), bitmap.getHeight());
+    if(largest > MAX_IMAGE_DIMENSION) {
+      float scale = (float) MAX_IMAGE_DIMENSION / largest;
+      Bitmap scaled = Bitmap.createScaledBitmap(bitmap, Math.round(bitmap.getWidth() * scale), Math.round(bitmap.getHeight() * scale), true);
+      if(scaled != bitmap) {
+        bitmap.recycle();
+        bitmap = scaled;
+      }
+    }
+
+    // The source is often the target itself, e.g. IMG_1.jpg, so it is read before anything is
+    // written and the image is encoded next to it.
+    String orientation = readOrientation(source);
+    File encoded = encodingFile(target);
+    try(FileOutputStream output = new FileOutputStream(encoded)) {
+      bitmap.compress(Bitmap.CompressFormat.JPEG, JPEG_QUALITY, output);
+    } finally {
+      bitmap.recycle();
+    }
+    writeOrientation(encoded, orientation);
+    if(!source.delete() || !encoded.renameTo(target)) {
+      throw new IOException("Unable to replace " + source + " with its downscaled copy");
+    }
+    return target;
+  }
+
+  static File copyTarget(File directory, int index, String displayName) {
+    return new File(directory, index + "-" + displayName);
+  }
+
+  static File downscaleTarget(File directory, int index, String displayName) {
+    return new File(directory, index + "-" + stripExtension(displayName) + ".jpg");
+  }
+
+  // Never the source nor the target, so neither is overwritten while the image is encoded.
+  static File encodingFile(File target) {
+    return new File(target.getPath() + ".tmp");
+  }
+
+  /**
+   * Recompressing drops the EXIF metadata; the orientation is carried over so photos taken in
+   * portrait are not shown rotated.
+   */
+  @Nullable
+  private static String readOrientation(File source) {
+    try {
+      String orientation = new ExifInterface(source.getPath()).getAttribute(ExifInterface.TAG_ORIENTATION);
+      return String.valueOf(ExifInterface.ORIENTATION_NORMAL).equals(orientation) ? null : orientation;
+    } catch(IOException error) {
+      Log.w(TAG, "Unable to read the orientation of " + source, error);
+      return null;
+    }
+  }
+
+  private static void writeOrientation(File target, @Nullable String orientation) {
+    if(orientation == null) {
+      return;
+    }
+    try {
+      ExifInterface exif = new ExifInterface(target.getPath());
+      exif.setAttribute(ExifInterface.TAG_ORIENTATION, orientation);
+      exif.saveAttributes();
+    } catch(IOException error) {
+      Log.w(TAG, "Unable to keep the orientation of " + target, error);
+    }
+  }
+
+  private boolean isImage(Uri uri) {
+    String type = context.getContentResolver().getType(uri);
+    if(type != null) {
+      return type.startsWith("image/");
+    }
+    String name = displayName(uri).toLowerCase();
+    return name.endsWith(".jpg") || name.endsWith(".jpeg") || name.endsWith(".png") || name.endsWith(".webp");
+  }
+
+  private static String displayName(Uri uri) {
+    String segment = uri.getLastPathSegment();
+    return segment != null && !segment.isEmpty() ? segment.replace(File.separatorChar, '_') : "attachment";
+  }
+
+  private static String stripExtension(String name) {
+    int dot = name.lastIndexOf('.');
+    return dot > 0 ? name.substring(0, dot) : name;
+  }
+
+  private static void deleteRecursively(File file) {
+    File[] children = file.listFiles();
+    if(children != null) {
+      for(File child : children) {
+        deleteRecursively(child);
+      }
+    }
+    file.delete();
+  }
+}
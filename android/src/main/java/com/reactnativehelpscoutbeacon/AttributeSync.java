@@ -0,0 +1,137 @@
+package com.reactnativehelpscoutbeacon;
+
+import com.helpscout.beacon.Beacon;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Keeps Beacon's user attributes in sync with the identity's attributes by sending only what
+ * changed since the last sync: changed or new keys are added, and stale keys and keys whose value
+ * is null are removed.
+ *
+ * Beacon keeps at most {@link #MAX_ATTRIBUTES} attributes. When more are given, keys listed in the
+ * priority order come first, then keys Beacon already has, then the others; the rest are left out.
+ */
+final class AttributeSync {
+  static final int MAX_ATTRIBUTES = 30;
+
+  /**
+   * Where the attribute changes go; Beacon itself outside of tests.
+   */
+  interface Sink {
+    void add(String key, String value);
+
+    void remove(String key);
+
+    void clear();
+  }
+
+  private static final Sink BEACON = new Sink() {
+    @Override
+    public void add(String key, String value) {
+      Beacon.addAttributeWithKey(key, value);
+    }
+
+    @Override
+    public void remove(String key) {
+      Beacon.removeAttribute(key);
+    }
+
+    @Override
+    public void clear() {
+      Beacon.clearAttributes();
+    }
+  };
+
+  private final Sink sink;
+  // What Beacon currently has, as last sent.
+  private final Map<String, String> sent = new HashMap<>();
+  private List<String> priority = Collections.emptyList();
+
+  AttributeSync() {
+    this(BEACON);
+  }
+
+  AttributeSync(Sink sink) {
+    this.sink = sink;
+  }
+
+  synchronized void setPriority(List<String> keys) {
+    priority = new ArrayList<>(keys);
+  }
+
+  synchronized void sync(Map<String, String> attributes) {
+    Map<String, String> target = selectAttributes(withoutNullValues(attributes));
+
+    if(target.isEmpty()) {
+      if(!sent.isEmpty()) {
+        sink.clear();
+        sent.clear();
+      }
+      return;
+    }
+
+    Iterator<Map.Entry<String, String>> stale = sent.entrySet().iterator();
+    while(stale.hasNext()) {
+      String key = stale.next().getKey();
+      if(!target.containsKey(key)) {
+        sink.remove(key);
+        stale.remove();
+      }
+    }
+    for(Map.Entry<String, String> entry : target.entrySet()) {
+      if(!Objects.equals(entry.getValue(), sent.get(entry.getKey()))) {
+        sink.add(entry.getKey(), entry.getValue());
+        sent.put(entry.getKey(), entry.getValue());
+      }
+    }
+  }
+
+  /**
+   * Forgets what was sent, for when Beacon dropped its attributes itself, e.g. on logout.
+   */
+  synchronized void reset() {
+    sent.clear();
+  }
+
+  // A null value removes the attribute, so it is treated like an absent key.
+  private static Map<String, String> withoutNullValues(Map<String, String> attributes) {
+    if(!attributes.containsValue(null)) {
+      return attributes;
+    }
+    Map<String, String> present = new LinkedHashMap<>(attributes);
+    present.values().removeIf(Objects::isNull);
+    return present;
+  }
+
+  private Map<String, String> selectAttributes(Map<String, String> attributes) {
+    if(attributes.size() <= MAX_ATTRIBUTES) {
+      return attributes;
+    }
+
+    Map<String, String> selected = new LinkedHashMap<>();
+    for(String key : priority) {
+      addIfPresent(selected, attributes, key);
+    }
+    for(String key : sent.keySet()) {
+      addIfPresent(selected, attributes, key);
+    }
+    for(String key : attributes.keySet()) {
+      addIfPresent(selected, attributes, key);
+    }
+    return selected;
+  }
+
+  private static void addIfPresent(Map<String, String> selected, Map<String, String> attributes, String key) {
+    if(selected.size() < MAX_ATTRIBUTES && !selected.containsKey(key) && attributes.containsKey(key)) {
+      selected.put(key, attributes.get(key));
+    }
+  }
+}
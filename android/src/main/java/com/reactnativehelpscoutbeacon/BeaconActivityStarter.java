@@ -0,0 +1,44 @@
+package com.reactnativehelpscoutbeacon;
+
+import android.content.Context;
+
+import com.helpscout.beacon.model.BeaconScreens;
+import com.helpscout.beacon.ui.BeaconActivity;
+
+import java.util.ArrayList;
+
+/**
+ * The BeaconActivity entry points used to launch Beacon, mirrored one to one, so unit tests can
+ * check which screen a launch opens without starting the SDK.
+ */
+interface BeaconActivityStarter {
+  BeaconActivityStarter SDK = new BeaconActivityStarter() {
+    @Override
+    public void open(Context context) {
+      BeaconActivity.open(context);
+    }
+
+    @Override
+    public void open(Context context, BeaconScreens screen, ArrayList<String> data) {
+      BeaconActivity.open(context, screen, data);
+    }
+
+    @Override
+    public void openInSecureMode(Context context, String signature) {
+      BeaconActivity.openInSecureMode(context, signature);
+    }
+
+    @Override
+    public void openInSecureMode(Context context, String signature, BeaconScreens screen, ArrayList<String> data) {
+      BeaconActivity.openInSecureMode(context, signature, screen, data);
+    }
+  };
+
+  void open(Context context);
+
+  void open(Context context, BeaconScreens screen, ArrayList<String> data);
+
+  void openInSecureMode(Context context, String signature);
+
+  void openInSecureMode(Context context, String signature, BeaconScreens screen, ArrayList<String> data);
+}
@@ -0,0 +1,93 @@
+package com.reactnativehelpscoutbeacon;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.ReactApplicationContext;
+import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.bridge.WritableMap;
+import com.facebook.react.modules.core.DeviceEventManagerModule;
+import com.helpscout.beacon.Beacon;
+import com.helpscout.beacon.model.BeaconEventLifecycleHandler;
+import com.helpscout.beacon.model.BeaconOnClosedListener;
+import com.helpscout.beacon.model.BeaconOnOpenedListener;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Forwards Beacon lifecycle events to JS. Events are collected for a short window and delivered as
+ * one batch, along with whether the Beacon is open at the end of it.
+ */
+final class BeaconEventEmitter {
+  static final String EVENTS_EVENT = "HelpScoutBeaconEvents";
+  static final long COALESCING_WINDOW_MS = 100;
+
+  private static final class Event {
+    final String type;
+    final long timestamp;
+
+    Event(String type, long timestamp) {
+      this.type = type;
+      this.timestamp = timestamp;
+    }
+  }
+
+  private final ReactApplicationContext reactContext;
+  private final Handler handler = new Handler(Looper.getMainLooper());
+  private final Runnable flush = this::flush;
+  private final List<Event> pending = new ArrayList<>();
+  private boolean open;
+
+  BeaconEventEmitter(ReactApplicationContext reactContext) {
+    this.reactContext = reactContext;
+  }
+
+  void register() {
+    Beacon.setBeaconEventLifecycleHandler(new BeaconEventLifecycleHandler(
+      new BeaconOnOpenedListener() {
+        @Override
+        public void onOpened() {
+          record("open", true);
+        }
+      },
+      new BeaconOnClosedListener() {
+        @Override
+        public void onClosed() {
+          record("close", false);
+        }
+      }
+    ));
+  }
+
+  private synchronized void record(String type, boolean isOpen) {
+    open = isOpen;
+    boolean scheduled = !pending.isEmpty();
+    pending.add(new Event(type, System.currentTimeMillis()));
+    if(!scheduled) {
+      handler.postDelayed(flush, COALESCING_WINDOW_MS);
+    }
+  }
+
+  private void flush() {
+    WritableArray events = Arguments.createArray();
+    WritableMap batch = Arguments.createMap();
+    synchronized(this) {
+      for(Event event : pending) {
+        WritableMap map = Arguments.createMap();
+        map.putString("type", event.type);
+        map.putDouble("timestamp", event.timestamp);
+        events.pushMap(map);
+      }
+      pending.clear();
+      batch.putBoolean("isOpen", open);
+    }
+    batch.putArray("events", events);
+
+    if(reactContext.hasActiveCatalystInstance()) {
+      reactContext.getJSModule(DeviceEventManagerModule.RCTDeviceEventEmitter.class)
+        .emit(EVENTS_EVENT, batch);
+    }
+  }
+}
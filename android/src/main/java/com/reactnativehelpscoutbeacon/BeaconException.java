@@ -0,0 +1,22 @@
+package com.reactnativehelpscoutbeacon;
+
+/**
+ * Failure carrying the error code the JS promise is rejected with.
+ */
+final class BeaconException extends RuntimeException {
+  private final String code;
+
+  BeaconException(String code, String message) {
+    super(message);
+    this.code = code;
+  }
+
+  BeaconException(String code, String message, Throwable cause) {
+    super(message, cause);
+    this.code = code;
+  }
+
+  String getCode() {
+    return code;
+  }
+}
@@ -0,0 +1,162 @@
+package com.reactnativehelpscoutbeacon;
+
+import android.app.Activity;
+import android.app.Application;
+import android.content.Context;
+import android.os.Build;
+import android.os.Bundle;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.os.Trace;
+import android.view.Choreographer;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.helpscout.beacon.ui.BeaconActivity;
+
+import java.lang.ref.WeakReference;
+
+/**
+ * Single-flight launcher for BeaconActivity.
+ *
+ * Launch requests arriving within the coalescing window of the previous launch are collapsed, and
+ * only the latest one runs once the window ends. A request identical to the previous launch is
+ * dropped while that launch is still in flight, i.e. its activity has not resumed yet, or on
+ * screen; see {@link LaunchCoalescer}. When a BeaconActivity is in the foreground the new launch
+ * starts from it, in its task, and replaces it instead of stacking another one.
+ *
+ * Each launch is traced as a "HelpScoutBeacon.launch" section and, from API 29, as an async
+ * "HelpScoutBeacon.firstFrame" section ending with the activity's first frame, so that
+ * macrobenchmarks can measure them.
+ *
+ * All state is confined to the main thread.
+ */
+final class BeaconLauncher implements Application.ActivityLifecycleCallbacks {
+  interface Launch {
+    void open(Context context);
+  }
+
+  static final String LAUNCH_TRACE_SECTION = "HelpScoutBeacon.launch";
+  static final String FIRST_FRAME_TRACE_SECTION = "HelpScoutBeacon.firstFrame";
+  // Launches are single-flight, so one cookie is enough to pair the async section.
+  private static final int FIRST_FRAME_TRACE_COOKIE = 0;
+
+  private static BeaconLauncher instance;
+
+  private final Context applicationContext;
+  private final Handler handler = new Handler(Looper.getMainLooper());
+  private final Runnable flushPending = this::flushPending;
+  private final Choreographer.FrameCallback recordFirstFrame = frameTimeNanos -> {
+    PerformanceStats.get().recordFirstFrame(System.nanoTime() - launchedAtNanos);
+    launchedAtNanos = 0;
+    if(Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q) {
+      Trace.endAsyncSection(FIRST_FRAME_TRACE_SECTION, FIRST_FRAME_TRACE_COOKIE);
+    }
+  };
+
+  private final LaunchCoalescer coalescer = new LaunchCoalescer();
+  private WeakReference<Activity> foregroundBeacon = new WeakReference<>(null);
+  // Set when a launch runs, cleared once the launched activity drew its first frame.
+  private long launchedAtNanos;
+
+  private BeaconLauncher(Application application) {
+    applicationContext = application;
+    application.registerActivityLifecycleCallbacks(this);
+  }
+
+  static synchronized BeaconLauncher getInstance(Context context) {
+    if(instance == null) {
+      instance = new BeaconLauncher((Application) context.getApplicationContext());
+    }
+    return instance;
+  }
+
+  void setCoalescingWindow(long windowMs) {
+    handler.post(() -> coalescer.setWindow(windowMs));
+  }
+
+  /**
+   * Requests a launch. Can be called from any thread; the launch itself happens on the main thread.
+   *
+   * @param key identifies the screen and arguments of the launch, used to drop duplicates
+   */
+  void request(String key, Launch launch) {
+    handler.post(() -> {
+      long now = SystemClock.uptimeMillis();
+      if(coalescer.canRunNow(now)) {
+        run(key, launch, now);
+        return;
+      }
+
+      // Latest request wins.
+      long runAt = coalescer.enqueue(key, launch, now);
+      handler.removeCallbacks(flushPending);
+      handler.postAtTime(flushPending, runAt);
+    });
+  }
+
+  private void flushPending() {
+    LaunchCoalescer.Pending pending = coalescer.takePending();
+    if(pending != null) {
+      run(pending.key, pending.launch, SystemClock.uptimeMillis());
+    }
+  }
+
+  private void run(String key, Launch launch, long now) {
+    Activity foreground = foregroundBeacon.get();
+    if(!coalescer.tryLaunch(key, now, foreground != null)) {
+      return;
+    }
+
+    if(Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q && launchedAtNanos == 0) {
+      Trace.beginAsyncSection(FIRST_FRAME_TRACE_SECTION, FIRST_FRAME_TRACE_COOKIE);
+    }
+    launchedAtNanos = System.nanoTime();
+    Trace.beginSection(LAUNCH_TRACE_SECTION);
+    try {
+      if(foreground != null && !foreground.isFinishing()) {
+        launch.open(foreground);
+        foreground.finish();
+      } else {
+        launch.open(applicationContext);
+      }
+    } finally {
+      Trace.endSection();
+    }
+  }
+
+  @Override
+  public void onActivityResumed(@NonNull Activity activity) {
+    if(activity instanceof BeaconActivity) {
+      foregroundBeacon = new WeakReference<>(activity);
+      coalescer.onBeaconResumed();
+      if(launchedAtNanos != 0) {
+        Choreographer.getInstance().postFrameCallback(recordFirstFrame);
+      }
+    }
+  }
+
+  @Override
+  public void onActivityPaused(@NonNull Activity activity) {
+    if(foregroundBeacon.get() == activity) {
+      foregroundBeacon = new WeakReference<>(null);
+    }
+  }
+
+  @Override
+  public void onActivityCreated(@NonNull Activity activity, @Nullable Bundle savedInstanceState) {}
+
+  @Override
+  public void onActivityStarted(@NonNull Activity activity) {}
+
+  @Override
+  public void onActivityStopped(@NonNull Activity activity) {}
+
+  @Override
+  public void onActivitySaveInstanceState(@NonNull Activity activity, @NonNull Bundle outState) {}
+
+  @Override
+  public void onActivityDestroyed(@NonNull Activity activity) {}
+}
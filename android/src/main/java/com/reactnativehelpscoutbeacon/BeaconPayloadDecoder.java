@@ -0,0 +1,98 @@
+package com.reactnativehelpscoutbeacon;
+
+import com.facebook.react.bridge.ReadableArray;
+import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.ReadableMapKeySetIterator;
+import com.helpscout.beacon.model.BeaconScreens;
+import com.helpscout.beacon.model.PreFilledForm;
+import com.helpscout.beacon.model.SuggestedArticle;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Decodes the payloads received from JS into Beacon SDK models. Settings and identities have their
+ * own stateful decoder, BeaconSettingsDecoder.
+ *
+ * Kept free of Android framework and module state so the decoding paths can be benchmarked on a
+ * plain JVM (see android-benchmark/).
+ */
+final class BeaconPayloadDecoder {
+  private BeaconPayloadDecoder() {}
+
+  static List<SuggestedArticle> extractBeaconSuggestions(ReadableArray rawSuggestions) {
+    List<SuggestedArticle> suggestions = new ArrayList<>();
+
+    for(int index = 0; index < rawSuggestions.size(); index++) {
+      ReadableMap rawSuggestion = rawSuggestions.getMap(index);
+      String type = rawSuggestion.getString("type");
+      if(type.equals("link")) {
+        String link = rawSuggestion.getString("link");
+        String label = rawSuggestion.getString("label");
+        suggestions.add(new SuggestedArticle.SuggestedArticleWithUrl(label, link));
+      } else if(type.equals("article")) {
+        String articleId = rawSuggestion.getString("articleId");
+        suggestions.add(new SuggestedArticle.SuggestedArticleWithId(articleId));
+      } else {
+        throw new BeaconException("invalid-suggestion", "Invalid suggestion type: " + type);
+      }
+    }
+
+    return suggestions;
+  }
+
+  static BeaconScreens extractBeaconScreen(String route) {
+    switch(route) {
+      case "home": return BeaconScreens.DEFAULT;
+      case "article": return BeaconScreens.ARTICLE_SCREEN;
+      case "contact": return BeaconScreens.CONTACT_FORM_SCREEN;
+      case "chat": return BeaconScreens.CHAT;
+      case "ask": return BeaconScreens.ASK;
+      case "previous-messages": return BeaconScreens.PREVIOUS_MESSAGES;
+      default: throw new BeaconException("invalid-route", "Invalid route: " + route);
+    }
+  }
+
+  static List<String> extractAttachments(ReadableMap formData) {
+    ReadableArray rawAttachments = formData.getArray("attachments");
+    List<String> attachments = new ArrayList<>(rawAttachments.size());
+    for(int index = 0; index < rawAttachments.size(); index++) {
+      attachments.add(rawAttachments.getString(index));
+    }
+    return attachments;
+  }
+
+  static PreFilledForm extractPreFilledForm(ReadableMap formData, List<String> attachments) {
+    ReadableMap customFieldValues = formData.getMap("customFieldValues");
+    Map<Integer, String> attributes = new HashMap<>();
+    ReadableMapKeySetIterator iterator = customFieldValues.keySetIterator();
+    while(iterator.hasNextKey()) {
+      String key = iterator.nextKey();
+      attributes.put(Integer.parseInt(key), customFieldValues.getString(key));
+    }
+    return new PreFilledForm(
+      formData.getString("name"),
+      formData.getString("subject"),
+      formData.getString("message"),
+      attributes,
+      attachments,
+      formData.getString("email")
+    );
+  }
+
+  static Map<String, String> extractTemplateVariables(ReadableMap rawVariables) {
+    Map<String, String> variables = new HashMap<>();
+    ReadableMapKeySetIterator iterator = rawVariables.keySetIterator();
+    while(iterator.hasNextKey()) {
+      String key = iterator.nextKey();
+      variables.put(key, rawVariables.getString(key));
+    }
+    return variables;
+  }
+
+  static String getOptionalString(ReadableMap map, String key) {
+    return map.hasKey(key) && !map.isNull(key) ? map.getString(key) : null;
+  }
+}
@@ -0,0 +1,61 @@
+package com.reactnativehelpscoutbeacon;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.MessageQueue;
+import android.os.Process;
+
+/**
+ * Moves the one-off costs of the first Beacon open (SDK initialization and class loading) to a
+ * background thread, so the first tap on "Help" is as fast as the following ones.
+ */
+final class BeaconPrewarmer {
+  private static final String THREAD_NAME = "HelpScoutBeaconPrewarm";
+
+  // Classes resolved by BeaconActivity.open*; loading and initializing them ahead of time keeps
+  // class loading and verification off the first open.
+  private static final String[] PRELOADED_CLASSES = {
+    "com.helpscout.beacon.Beacon",
+    "com.helpscout.beacon.model.BeaconConfigOverrides",
+    "com.helpscout.beacon.model.BeaconScreens",
+    "com.helpscout.beacon.model.BeaconUser",
+    "com.helpscout.beacon.ui.BeaconActivity"
+  };
+
+  private BeaconPrewarmer() {}
+
+  static void preloadClasses(ClassLoader classLoader) {
+    for(String className : PRELOADED_CLASSES) {
+      try {
+        Class.forName(className, true, classLoader);
+      } catch(ClassNotFoundException | LinkageError ignored) {
+        // Preloading is best effort; the class is loaded again on first use anyway.
+      }
+    }
+  }
+
+  /**
+   * Runs the task on a low priority background thread.
+   */
+  static void runInBackground(Runnable task) {
+    Thread thread = new Thread(() -> {
+      Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+      task.run();
+    }, THREAD_NAME);
+    thread.start();
+  }
+
+  /**
+   * Runs the task on a background thread once the main thread has gone idle, i.e. after the
+   * startup work queued on it has been processed.
+   */
+  static void runInBackgroundWhenIdle(Runnable task) {
+    new Handler(Looper.getMainLooper()).post(() -> Looper.myQueue().addIdleHandler(new MessageQueue.IdleHandler() {
+      @Override
+      public boolean queueIdle() {
+        runInBackground(task);
+        return false;
+      }
+    }));
+  }
+}
@@ -0,0 +1,71 @@
+package com.reactnativehelpscoutbeacon;
+
+import androidx.annotation.Nullable;
+
+import com.helpscout.beacon.model.BeaconUser;
+import com.helpscout.beacon.model.SuggestedArticle;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Beacons registered by name, each with its decoded settings and the identity and suggestions to
+ * restore when switching to it.
+ *
+ * Settings are decoded and their config overrides built once, at registration, so switching only
+ * hands the cached instances to Beacon.
+ */
+final class BeaconRegistry {
+  static final class Entry {
+    final BeaconSettings settings;
+    @Nullable BeaconUser user;
+    @Nullable List<SuggestedArticle> suggestions;
+
+    Entry(BeaconSettings settings, @Nullable BeaconUser user) {
+      this.settings = settings;
+      this.user = user;
+    }
+  }
+
+  private final Map<String, Entry> beacons = new HashMap<>();
+
+  /**
+   * Registers or replaces a beacon. Suggestions, and the identity when none is given, carry over
+   * from the beacon it replaces.
+   */
+  synchronized void register(String name, BeaconSettings settings, @Nullable BeaconUser user) {
+    settings.getConfigOverrides();
+    Entry previous = beacons.get(name);
+    Entry entry = new Entry(settings, user);
+    if(previous != null) {
+      if(user == null) {
+        entry.user = previous.user;
+      }
+      entry.suggestions = previous.suggestions;
+    }
+    beacons.put(name, entry);
+  }
+
+  /**
+   * Forgets the identity kept for every beacon, so none is restored after a logout.
+   */
+  synchronized void clearIdentities() {
+    for(Entry entry : beacons.values()) {
+      entry.user = null;
+    }
+  }
+
+  @Nullable
+  synchronized Entry find(String name) {
+    return beacons.get(name);
+  }
+
+  synchronized Entry get(String name) {
+    Entry entry = beacons.get(name);
+    if(entry == null) {
+      throw new BeaconException("missing-beacon", "No beacon registered with name: " + name);
+    }
+    return entry;
+  }
+}
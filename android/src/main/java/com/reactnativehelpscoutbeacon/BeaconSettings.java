@@ -0,0 +1,154 @@
+package com.reactnativehelpscoutbeacon;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.helpscout.beacon.model.BeaconConfigOverrides;
+import com.helpscout.beacon.model.FocusMode;
+
+import java.util.Objects;
+
+/**
+ * Immutable Beacon configuration: the Beacon.Builder parameters and the config overrides. Build it
+ * with {@link Builder} to use it with {@link HelpScoutBeaconController}.
+ */
+public final class BeaconSettings {
+  public static final class Builder {
+    private final String beaconId;
+    @Nullable private Boolean logsEnabled;
+    @Nullable private Boolean docsEnabled;
+    @Nullable private Boolean messagingEnabled;
+    @Nullable private Boolean chatEnabled;
+    @Nullable private String color;
+    @Nullable private FocusMode focusMode;
+    private boolean enablePreviousMessages = true;
+
+    public Builder(@NonNull String beaconId) {
+      this.beaconId = beaconId;
+    }
+
+    @NonNull
+    public Builder logsEnabled(@Nullable Boolean logsEnabled) {
+      this.logsEnabled = logsEnabled;
+      return this;
+    }
+
+    @NonNull
+    public Builder docsEnabled(@Nullable Boolean docsEnabled) {
+      this.docsEnabled = docsEnabled;
+      return this;
+    }
+
+    @NonNull
+    public Builder messagingEnabled(@Nullable Boolean messagingEnabled) {
+      this.messagingEnabled = messagingEnabled;
+      return this;
+    }
+
+    @NonNull
+    public Builder chatEnabled(@Nullable Boolean chatEnabled) {
+      this.chatEnabled = chatEnabled;
+      return this;
+    }
+
+    /**
+     * @param color the Beacon color, e.g. "#497E76"
+     */
+    @NonNull
+    public Builder color(@Nullable String color) {
+      this.color = color;
+      return this;
+    }
+
+    @NonNull
+    public Builder focusMode(@Nullable FocusMode focusMode) {
+      this.focusMode = focusMode;
+      return this;
+    }
+
+    @NonNull
+    public Builder enablePreviousMessages(boolean enablePreviousMessages) {
+      this.enablePreviousMessages = enablePreviousMessages;
+      return this;
+    }
+
+    @NonNull
+    public BeaconSettings build() {
+      return new BeaconSettings(beaconId, logsEnabled, docsEnabled, messagingEnabled, chatEnabled, color, focusMode, enablePreviousMessages);
+    }
+  }
+
+  final String beaconId;
+  @Nullable final Boolean logsEnabled;
+  @Nullable final Boolean docsEnabled;
+  @Nullable final Boolean messagingEnabled;
+  @Nullable final Boolean chatEnabled;
+  @Nullable final String color;
+  @Nullable final FocusMode focusMode;
+  final boolean enablePreviousMessages;
+
+  private BeaconConfigOverrides configOverrides;
+
+  BeaconSettings(
+    String beaconId,
+    @Nullable Boolean logsEnabled,
+    @Nullable Boolean docsEnabled,
+    @Nullable Boolean messagingEnabled,
+    @Nullable Boolean chatEnabled,
+    @Nullable String color,
+    @Nullable FocusMode focusMode,
+    boolean enablePreviousMessages
+  ) {
+    this.beaconId = beaconId;
+    this.logsEnabled = logsEnabled;
+    this.docsEnabled = docsEnabled;
+    this.messagingEnabled = messagingEnabled;
+    this.chatEnabled = chatEnabled;
+    this.color = color;
+    this.focusMode = focusMode;
+    this.enablePreviousMessages = enablePreviousMessages;
+  }
+
+  static BeaconSettings withBeaconId(String beaconId) {
+    return new BeaconSettings(beaconId, null, null, null, null, null, null, true);
+  }
+
+  synchronized BeaconConfigOverrides getConfigOverrides() {
+    if(configOverrides == null) {
+      configOverrides = new BeaconConfigOverrides(
+        docsEnabled,
+        messagingEnabled,
+        chatEnabled,
+        null,
+        color,
+        focusMode,
+        enablePreviousMessages
+      );
+    }
+    return configOverrides;
+  }
+
+  @Override
+  public boolean equals(Object other) {
+    if(this == other) {
+      return true;
+    }
+    if(!(other instanceof BeaconSettings)) {
+      return false;
+    }
+    BeaconSettings settings = (BeaconSettings) other;
+    return enablePreviousMessages == settings.enablePreviousMessages
+      && beaconId.equals(settings.beaconId)
+      && Objects.equals(logsEnabled, settings.logsEnabled)
+      && Objects.equals(docsEnabled, settings.docsEnabled)
+      && Objects.equals(messagingEnabled, settings.messagingEnabled)
+      && Objects.equals(chatEnabled, settings.chatEnabled)
+      && Objects.equals(color, settings.color)
+      && focusMode == settings.focusMode;
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(beaconId, logsEnabled, docsEnabled, messagingEnabled, chatEnabled, color, focusMode, enablePreviousMessages);
+  }
+}
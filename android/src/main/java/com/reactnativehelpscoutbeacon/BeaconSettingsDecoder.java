@@ -0,0 +1,209 @@
+package com.reactnativehelpscoutbeacon;
+
+import androidx.annotation.Nullable;
+
+import com.facebook.react.bridge.ReadableMap;
+import com.helpscout.beacon.model.BeaconUser;
+import com.helpscout.beacon.model.FocusMode;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Decodes settings and identities in a single pass over each map's entries.
+ *
+ * Decoded values are written into reusable scratch fields and compared with the previous result;
+ * when nothing changed the previous BeaconSettings and BeaconUser instances are returned as is, so
+ * repeated payloads decode without allocating models.
+ */
+final class BeaconSettingsDecoder {
+  static final class DecodedSettings {
+    final BeaconSettings settings;
+    @Nullable final BeaconUser user;
+
+    DecodedSettings(BeaconSettings settings, @Nullable BeaconUser user) {
+      this.settings = settings;
+      this.user = user;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+      if(this == other) {
+        return true;
+      }
+      if(!(other instanceof DecodedSettings)) {
+        return false;
+      }
+      DecodedSettings decodedSettings = (DecodedSettings) other;
+      return settings.equals(decodedSettings.settings) && Objects.equals(user, decodedSettings.user);
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * settings.hashCode() + Objects.hashCode(user);
+    }
+  }
+
+  // Scratch holder for the settings being decoded.
+  private String beaconId;
+  private Boolean logsEnabled;
+  private Boolean docsEnabled;
+  private Boolean messagingEnabled;
+  private Boolean chatEnabled;
+  private String color;
+  private FocusMode focusMode;
+  private boolean enablePreviousMessages;
+  private ReadableMap identity;
+
+  // Scratch holder for the identity being decoded.
+  private String email;
+  private String name;
+  private String company;
+  private String jobTitle;
+  private String avatar;
+  private ReadableMap attributes;
+
+  private DecodedSettings lastSettings;
+  private BeaconUser lastUser;
+
+  synchronized DecodedSettings decodeSettings(ReadableMap rawSettings) {
+    beaconId = null;
+    logsEnabled = null;
+    docsEnabled = null;
+    messagingEnabled = null;
+    chatEnabled = null;
+    color = null;
+    focusMode = null;
+    enablePreviousMessages = true;
+    identity = null;
+
+    Iterator<Map.Entry<String, Object>> entries = rawSettings.getEntryIterator();
+    while(entries.hasNext()) {
+      Map.Entry<String, Object> entry = entries.next();
+      Object value = entry.getValue();
+      if(value == null) {
+        continue;
+      }
+      switch(entry.getKey()) {
+        case "beaconId": beaconId = (String) value; break;
+        case "logsEnabled": logsEnabled = (Boolean) value; break;
+        case "docsEnabled": docsEnabled = (Boolean) value; break;
+        case "messagingEnabled": messagingEnabled = (Boolean) value; break;
+        case "chatEnabled": chatEnabled = (Boolean) value; break;
+        case "color": color = (String) value; break;
+        case "focusMode": focusMode = extractFocusMode((String) value); break;
+        case "enablePreviousMessages": enablePreviousMessages = (Boolean) value; break;
+        case "identity": identity = (ReadableMap) value; break;
+        default: break;
+      }
+    }
+    if(beaconId == null) {
+      throw new BeaconException("missing-settings", "Missing settings. The beacon id is obligatory.");
+    }
+
+    BeaconSettings settings = lastSettings != null && isSameSettings(lastSettings.settings)
+      ? lastSettings.settings
+      : new BeaconSettings(beaconId, logsEnabled, docsEnabled, messagingEnabled, chatEnabled, color, focusMode, enablePreviousMessages);
+    BeaconUser user = identity != null ? decodeIdentity(identity) : null;
+
+    if(lastSettings == null || lastSettings.settings != settings || lastSettings.user != user) {
+      lastSettings = new DecodedSettings(settings, user);
+    }
+    return lastSettings;
+  }
+
+  @Nullable
+  synchronized BeaconUser decodeIdentity(@Nullable ReadableMap rawIdentity) {
+    if(rawIdentity == null) {
+      return null;
+    }
+
+    email = null;
+    name = null;
+    company = null;
+    jobTitle = null;
+    avatar = null;
+    attributes = null;
+
+    Iterator<Map.Entry<String, Object>> entries = rawIdentity.getEntryIterator();
+    while(entries.hasNext()) {
+      Map.Entry<String, Object> entry = entries.next();
+      Object value = entry.getValue();
+      if(value == null) {
+        continue;
+      }
+      switch(entry.getKey()) {
+        case "email": email = (String) value; break;
+        case "name": name = (String) value; break;
+        case "company": company = (String) value; break;
+        case "jobTitle": jobTitle = (String) value; break;
+        case "avatar": avatar = (String) value; break;
+        case "attributes": attributes = (ReadableMap) value; break;
+        default: break;
+      }
+    }
+
+    if(lastUser != null
+      && Objects.equals(email, lastUser.getEmail())
+      && Objects.equals(name, lastUser.getName())
+      && Objects.equals(company, lastUser.getCompany())
+      && Objects.equals(jobTitle, lastUser.getJobTitle())
+      && Objects.equals(avatar, lastUser.getAvatar())
+      && isSameAttributes(lastUser.getAttributes())) {
+      return lastUser;
+    }
+
+    lastUser = new BeaconUser(email, name, company, jobTitle, avatar, extractAttributes());
+    return lastUser;
+  }
+
+  private boolean isSameSettings(BeaconSettings settings) {
+    return enablePreviousMessages == settings.enablePreviousMessages
+      && beaconId.equals(settings.beaconId)
+      && Objects.equals(logsEnabled, settings.logsEnabled)
+      && Objects.equals(docsEnabled, settings.docsEnabled)
+      && Objects.equals(messagingEnabled, settings.messagingEnabled)
+      && Objects.equals(chatEnabled, settings.chatEnabled)
+      && Objects.equals(color, settings.color)
+      && focusMode == settings.focusMode;
+  }
+
+  private boolean isSameAttributes(Map<String, String> previous) {
+    int count = 0;
+    if(attributes != null) {
+      Iterator<Map.Entry<String, Object>> entries = attributes.getEntryIterator();
+      while(entries.hasNext()) {
+        Map.Entry<String, Object> entry = entries.next();
+        if(!Objects.equals(entry.getValue(), previous.get(entry.getKey()))) {
+          return false;
+        }
+        count++;
+      }
+    }
+    return count == previous.size();
+  }
+
+  private Map<String, String> extractAttributes() {
+    Map<String, String> values = new HashMap<>();
+    if(attributes != null) {
+      Iterator<Map.Entry<String, Object>> entries = attributes.getEntryIterator();
+      while(entries.hasNext()) {
+        Map.Entry<String, Object> entry = entries.next();
+        values.put(entry.getKey(), (String) entry.getValue());
+      }
+    }
+    return values;
+  }
+
+  @Nullable
+  private static FocusMode extractFocusMode(String rawFocusMode) {
+    switch(rawFocusMode) {
+      case "neutral": return FocusMode.NEUTRAL;
+      case "self-service": return FocusMode.SELF_SERVICE;
+      case "ask-first": return FocusMode.ASK_FIRST;
+      default: return null;
+    }
+  }
+}
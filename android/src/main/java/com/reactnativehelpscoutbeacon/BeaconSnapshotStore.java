@@ -0,0 +1,222 @@
+package com.reactnativehelpscoutbeacon;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.annotation.Nullable;
+
+import com.helpscout.beacon.model.BeaconUser;
+import com.helpscout.beacon.model.FocusMode;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Persists the settings, identity and Secure Mode signature of the last launch, so Beacon can be
+ * opened again before JS runs, e.g. from a notification.
+ *
+ * The snapshot is a small binary file in the no-backup directory. Writes happen on a background
+ * thread, replace the file atomically, and are coalesced: only the latest pending snapshot is
+ * written, and one equal to the last written is skipped.
+ */
+final class BeaconSnapshotStore {
+  static final class Snapshot {
+    final BeaconSettings settings;
+    @Nullable final BeaconUser user;
+    @Nullable final String signature;
+
+    Snapshot(BeaconSettings settings, @Nullable BeaconUser user, @Nullable String signature) {
+      this.settings = settings;
+      this.user = user;
+      this.signature = signature;
+    }
+
+    boolean isSame(@Nullable Snapshot other) {
+      return other != null
+        && settings.equals(other.settings)
+        && Objects.equals(user, other.user)
+        && Objects.equals(signature, other.signature);
+    }
+  }
+
+  private static final String TAG = "HelpScoutBeacon";
+  private static final String FILE_NAME = "helpscout-beacon-snapshot";
+  private static final int VERSION = 2;
+
+  private static BeaconSnapshotStore instance;
+
+  private final File file;
+  private final File temporaryFile;
+  private final ExecutorService executor = Executors.newSingleThreadExecutor(
+    runnable -> new Thread(runnable, "HelpScoutBeaconSnapshot")
+  );
+  private final AtomicReference<Snapshot> pending = new AtomicReference<>();
+  // Only touched on the executor.
+  private Snapshot written;
+
+  private BeaconSnapshotStore(Context context) {
+    File directory = context.getNoBackupFilesDir();
+    file = new File(directory, FILE_NAME);
+    temporaryFile = new File(directory, FILE_NAME + ".tmp");
+  }
+
+  static synchronized BeaconSnapshotStore getInstance(Context context) {
+    if(instance == null) {
+      instance = new BeaconSnapshotStore(context.getApplicationContext());
+    }
+    return instance;
+  }
+
+  boolean exists() {
+    return file.exists();
+  }
+
+  void save(Snapshot snapshot) {
+    if(pending.getAndSet(snapshot) == null) {
+      executor.execute(this::writePending);
+    }
+  }
+
+  void clear() {
+    pending.set(null);
+    executor.execute(() -> {
+      written = null;
+      if(!file.delete() && file.exists()) {
+        Log.w(TAG, "Unable to delete " + file);
+      }
+    });
+  }
+
+  /**
+   * Reads the snapshot on the calling thread.
+   */
+  @Nullable
+  Snapshot load() {
+    if(!file.exists()) {
+      return null;
+    }
+    try(DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+      if(input.readInt() != VERSION) {
+        return null;
+      }
+      BeaconSettings settings = new BeaconSettings(
+        input.readUTF(),
+        readBoolean(input),
+        readBoolean(input),
+        readBoolean(input),
+        readBoolean(input),
+        readString(input),
+        readFocusMode(input),
+        input.readBoolean()
+      );
+      BeaconUser user = null;
+      if(input.readBoolean()) {
+        String email = readString(input);
+        String name = readString(input);
+        String company = readString(input);
+        String jobTitle = readString(input);
+        String avatar = readString(input);
+        int attributeCount = input.readInt();
+        Map<String, String> attributes = new HashMap<>(attributeCount);
+        for(int i = 0; i < attributeCount; i++) {
+          attributes.put(input.readUTF(), readString(input));
+        }
+        user = new BeaconUser(email, name, company, jobTitle, avatar, attributes);
+      }
+      return new Snapshot(settings, user, readString(input));
+    } catch(IOException | IllegalArgumentException error) {
+      Log.w(TAG, "Unable to read the Beacon snapshot", error);
+      return null;
+    }
+  }
+
+  private void writePending() {
+    Snapshot snapshot = pending.getAndSet(null);
+    if(snapshot == null || snapshot.isSame(written)) {
+      return;
+    }
+    try {
+      try(DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temporaryFile)))) {
+        write(output, snapshot);
+      }
+      if(!temporaryFile.renameTo(file)) {
+        throw new IOException("Unable to rename " + temporaryFile);
+      }
+      written = snapshot;
+    } catch(IOException | RuntimeException error) {
+      Log.w(TAG, "Unable to write the Beacon snapshot", error);
+    }
+  }
+
+  private static void write(DataOutputStream output, Snapshot snapshot) throws IOException {
+    BeaconSettings settings = snapshot.settings;
+    output.writeInt(VERSION);
+    output.writeUTF(settings.beaconId);
+    writeBoolean(output, settings.logsEnabled);
+    writeBoolean(output, settings.docsEnabled);
+    writeBoolean(output, settings.messagingEnabled);
+    writeBoolean(output, settings.chatEnabled);
+    writeString(output, settings.color);
+    writeString(output, settings.focusMode != null ? settings.focusMode.name() : null);
+    output.writeBoolean(settings.enablePreviousMessages);
+
+    BeaconUser user = snapshot.user;
+    output.writeBoolean(user != null);
+    if(user != null) {
+      writeString(output, user.getEmail());
+      writeString(output, user.getName());
+      writeString(output, user.getCompany());
+      writeString(output, user.getJobTitle());
+      writeString(output, user.getAvatar());
+      Map<String, String> attributes = user.getAttributes();
+      output.writeInt(attributes.size());
+      for(Map.Entry<String, String> attribute : attributes.entrySet()) {
+        output.writeUTF(attribute.getKey());
+        // Values are null for attributes set to null from JS.
+        writeString(output, attribute.getValue());
+      }
+    }
+    writeString(output, snapshot.signature);
+  }
+
+  // Nullable booleans take a single byte: 0 for null, 1 for false, 2 for true.
+  private static void writeBoolean(DataOutputStream output, @Nullable Boolean value) throws IOException {
+    output.writeByte(value == null ? 0 : value ? 2 : 1);
+  }
+
+  @Nullable
+  private static Boolean readBoolean(DataInputStream input) throws IOException {
+    byte value = input.readByte();
+    return value == 0 ? null : value == 2;
+  }
+
+  private static void writeString(DataOutputStream output, @Nullable String value) throws IOException {
+    output.writeBoolean(value != null);
+    if(value != null) {
+      output.writeUTF(value);
+    }
+  }
+
+  @Nullable
+  private static String readString(DataInputStream input) throws IOException {
+    return input.readBoolean() ? input.readUTF() : null;
+  }
+
+  @Nullable
+  private static FocusMode readFocusMode(DataInputStream input) throws IOException {
+    String name = readString(input);
+    return name != null ? FocusMode.valueOf(name) : null;
+  }
+}
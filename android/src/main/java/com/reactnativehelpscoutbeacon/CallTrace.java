@@ -0,0 +1,108 @@
+package com.reactnativehelpscoutbeacon;
+
+import androidx.annotation.Nullable;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Process-wide ring buffer of the last {@link #CAPACITY} calls made to Beacon: method, argument
+ * fingerprint, calling thread, timestamps and outcome.
+ *
+ * Slots are preallocated and recording only claims a sequence number and writes primitives and
+ * existing references, without locks or allocations, so it stays on in production. Each slot
+ * carries the sequence number it holds; a slot being overwritten while it is dumped is skipped.
+ */
+final class CallTrace {
+  static final int CAPACITY = 512;
+  private static final int MASK = CAPACITY - 1;
+  private static final long WRITING = -1;
+
+  private static final CallTrace instance = new CallTrace();
+
+  private final AtomicLong sequence = new AtomicLong();
+  private final AtomicLongArray slotSequences = new AtomicLongArray(CAPACITY);
+  private final String[] methods = new String[CAPACITY];
+  private final String[] threads = new String[CAPACITY];
+  private final long[] fingerprints = new long[CAPACITY];
+  private final long[] calledAtMillis = new long[CAPACITY];
+  private final long[] queuedNanos = new long[CAPACITY];
+  private final long[] runNanos = new long[CAPACITY];
+  // Error code of the call, or null when it succeeded.
+  private final String[] outcomes = new String[CAPACITY];
+
+  private CallTrace() {
+    for(int i = 0; i < CAPACITY; i++) {
+      slotSequences.set(i, WRITING);
+    }
+  }
+
+  static CallTrace get() {
+    return instance;
+  }
+
+  void record(String method, long fingerprint, String thread, long calledAtMillis, long queuedNanos, long runNanos, @Nullable String outcome) {
+    long seq = sequence.getAndIncrement();
+    int slot = (int) (seq & MASK);
+    slotSequences.set(slot, WRITING);
+    methods[slot] = method;
+    threads[slot] = thread;
+    fingerprints[slot] = fingerprint;
+    this.calledAtMillis[slot] = calledAtMillis;
+    this.queuedNanos[slot] = queuedNanos;
+    this.runNanos[slot] = runNanos;
+    outcomes[slot] = outcome;
+    slotSequences.set(slot, seq);
+  }
+
+  /**
+   * Writes the recorded calls, oldest first, as tab-separated lines in a single channel write.
+   */
+  void dump(File file) throws IOException {
+    SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSSZ", Locale.US);
+    StringBuilder text = new StringBuilder(CAPACITY * 96);
+    text.append("sequence\tcalledAt\tmethod\tthread\tfingerprint\tqueuedUs\trunUs\toutcome\n");
+
+    long end = sequence.get();
+    for(long seq = Math.max(0, end - CAPACITY); seq < end; seq++) {
+      int slot = (int) (seq & MASK);
+      if(slotSequences.get(slot) != seq) {
+        continue;
+      }
+      String method = methods[slot];
+      String thread = threads[slot];
+      long fingerprint = fingerprints[slot];
+      long calledAt = calledAtMillis[slot];
+      long queued = queuedNanos[slot];
+      long run = runNanos[slot];
+      String outcome = outcomes[slot];
+      if(slotSequences.get(slot) != seq) {
+        continue;
+      }
+      text.append(seq).append('\t')
+        .append(dateFormat.format(new Date(calledAt))).append('\t')
+        .append(method).append('\t')
+        .append(thread).append('\t')
+        .append(Long.toHexString(fingerprint)).append('\t')
+        .append(queued / 1000).append('\t')
+        .append(run / 1000).append('\t')
+        .append(outcome != null ? outcome : "ok").append('\n');
+    }
+
+    ByteBuffer buffer = ByteBuffer.wrap(text.toString().getBytes(StandardCharsets.UTF_8));
+    try(FileChannel channel = new FileOutputStream(file).getChannel()) {
+      while(buffer.hasRemaining()) {
+        channel.write(buffer);
+      }
+    }
+  }
+}
@@ -0,0 +1,167 @@
+package com.reactnativehelpscoutbeacon;
+
+import com.helpscout.beacon.model.PreFilledForm;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A contact form decoded once, whose fields, custom field values and attachments may contain
+ * {@code {{name}}} placeholders filled from variables each time the form is prefilled. A literal
+ * <code>{{</code> is written <code>\{{</code>.
+ *
+ * Fields are split into literal and placeholder parts at registration. Parts without placeholders
+ * are kept as the registered instances, so filling only builds the strings that change.
+ */
+final class FormTemplate {
+  private static final String OPEN = "{{";
+  private static final String CLOSE = "}}";
+  private static final char ESCAPE = '\\';
+
+  /**
+   * A string split into literals and placeholders; literals at even indices, variable names at odd
+   * ones. Without placeholders, source is the text with its escapes resolved.
+   */
+  private static final class Text {
+    private final String source;
+    private final String[] parts;
+
+    private Text(String source, String[] parts) {
+      this.source = source;
+      this.parts = parts;
+    }
+
+    static Text compile(String source) {
+      if(source == null || !source.contains(OPEN)) {
+        return new Text(source, null);
+      }
+      List<String> parts = new ArrayList<>();
+      StringBuilder literal = new StringBuilder(source.length());
+      int position = 0;
+      while(true) {
+        int open = source.indexOf(OPEN, position);
+        if(open < 0) {
+          break;
+        }
+        if(open > 0 && source.charAt(open - 1) == ESCAPE) {
+          literal.append(source, position, open - 1).append(OPEN);
+          position = open + OPEN.length();
+          continue;
+        }
+        int close = source.indexOf(CLOSE, open + OPEN.length());
+        if(close < 0) {
+          break;
+        }
+        String name = source.substring(open + OPEN.length(), close).trim();
+        if(name.isEmpty()) {
+          throw new BeaconException("invalid-form-template", "Empty placeholder in: " + source);
+        }
+        parts.add(literal.append(source, position, open).toString());
+        literal.setLength(0);
+        parts.add(name);
+        position = close + CLOSE.length();
+      }
+      literal.append(source, position, source.length());
+      if(parts.isEmpty()) {
+        return new Text(literal.toString(), null);
+      }
+      parts.add(literal.toString());
+      return new Text(source, parts.toArray(new String[0]));
+    }
+
+    boolean hasPlaceholders() {
+      return parts != null;
+    }
+
+    String fill(Map<String, String> variables) {
+      if(parts == null) {
+        return source;
+      }
+      StringBuilder text = new StringBuilder(source.length());
+      for(int i = 0; i < parts.length; i++) {
+        if(i % 2 == 0) {
+          text.append(parts[i]);
+          continue;
+        }
+        String value = variables.get(parts[i]);
+        if(value == null) {
+          throw new BeaconException("missing-template-variable", "No value for template variable: " + parts[i]);
+        }
+        text.append(value);
+      }
+      return text.toString();
+    }
+  }
+
+  private final Text name;
+  private final Text subject;
+  private final Text message;
+  private final Text email;
+  private final Map<Integer, Text> customFieldValues;
+  private final List<Text> attachments;
+  // The custom field values and attachments, built once and reused when they have no placeholders.
+  private final Map<Integer, String> staticCustomFieldValues;
+  private final List<String> staticAttachments;
+
+  FormTemplate(PreFilledForm form) {
+    name = Text.compile(form.getName());
+    subject = Text.compile(form.getSubject());
+    message = Text.compile(form.getMessage());
+    email = Text.compile(form.getEmail());
+
+    Map<Integer, Text> fieldValues = new HashMap<>();
+    boolean fieldPlaceholders = false;
+    for(Map.Entry<Integer, String> field : form.getCustomFieldValues().entrySet()) {
+      Text value = Text.compile(field.getValue());
+      fieldValues.put(field.getKey(), value);
+      fieldPlaceholders |= value.hasPlaceholders();
+    }
+    customFieldValues = fieldPlaceholders ? fieldValues : null;
+    staticCustomFieldValues = fieldPlaceholders ? null
+      : Collections.unmodifiableMap(fill(fieldValues, Collections.<String, String>emptyMap()));
+
+    List<Text> attachmentTexts = new ArrayList<>();
+    boolean attachmentPlaceholders = false;
+    for(String attachment : form.getAttachments()) {
+      Text uri = Text.compile(attachment);
+      attachmentTexts.add(uri);
+      attachmentPlaceholders |= uri.hasPlaceholders();
+    }
+    attachments = attachmentPlaceholders ? attachmentTexts : null;
+    staticAttachments = attachmentPlaceholders ? null
+      : Collections.unmodifiableList(fill(attachmentTexts, Collections.<String, String>emptyMap()));
+  }
+
+  /**
+   * Builds the form with the placeholders replaced by the variables.
+   */
+  PreFilledForm fill(Map<String, String> variables) {
+    return new PreFilledForm(
+      name.fill(variables),
+      subject.fill(variables),
+      message.fill(variables),
+      staticCustomFieldValues != null ? staticCustomFieldValues : fill(customFieldValues, variables),
+      staticAttachments != null ? staticAttachments : fill(attachments, variables),
+      email.fill(variables)
+    );
+  }
+
+  private static Map<Integer, String> fill(Map<Integer, Text> texts, Map<String, String> variables) {
+    Map<Integer, String> filled = new HashMap<>(texts.size());
+    for(Map.Entry<Integer, Text> text : texts.entrySet()) {
+      filled.put(text.getKey(), text.getValue().fill(variables));
+    }
+    return filled;
+  }
+
+  private static List<String> fill(List<Text> texts, Map<String, String> variables) {
+    List<String> filled = new ArrayList<>(texts.size());
+    for(Text text : texts) {
+      filled.add(text.fill(variables));
+    }
+    return filled;
+  }
+}
@@ -0,0 +1,681 @@
+package com.reactnativehelpscoutbeacon;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.helpscout.beacon.Beacon;
+import com.helpscout.beacon.model.BeaconScreens;
+import com.helpscout.beacon.model.BeaconUser;
+import com.helpscout.beacon.model.PreFilledForm;
+import com.helpscout.beacon.model.SuggestedArticle;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Entry point to Beacon for native code, taking plain Java types. The JS module is an adapter over
+ * it.
+ *
+ * Calls can be made from any thread. They are queued on a single background thread shared with the
+ * JS module and run in call order; the optional callback is invoked there with the outcome.
+ */
+public final class HelpScoutBeaconController {
+  public interface Callback {
+    void onSuccess();
+
+    /**
+     * @param code the error code, e.g. "missing-beacon" or "signature-unavailable"
+     */
+    void onError(@NonNull String code, @NonNull Throwable error);
+  }
+
+  interface Command {
+    void run() throws Exception;
+  }
+
+  private static final String TAG = "HelpScoutBeacon";
+
+  // How long an open waits for the signature provider before failing.
+  private static final long SIGNATURE_TIMEOUT_MS = 5000;
+
+  private static HelpScoutBeaconController instance;
+
+  // When the running command finished decoding its arguments, and a hash of what it decoded. Only
+  // touched on the command executor.
+  private static long decodedAtNanos;
+  private static long argumentFingerprint;
+
+  private final Context context;
+
+  // Beacon keeps its configuration in process-wide state; what was last applied is guarded by this
+  // lock.
+  private final Object lock = new Object();
+  private BeaconSettings configuredSettings;
+  // Last identity handed to Beacon.identify, cleared on logout.
+  private BeaconUser identifiedUser;
+  // Suggestions last handed to Beacon, compared by reference.
+  private List<SuggestedArticle> appliedSuggestions;
+  // Name of the registered beacon Beacon is configured for, or null when configured from settings.
+  private String activeBeacon;
+
+  private final SignatureCache signatureCache = new SignatureCache();
+  private final AttributeSync attributeSync = new AttributeSync();
+  private final BeaconRegistry beaconRegistry = new BeaconRegistry();
+  private final SuggestionSetCache suggestionSets = new SuggestionSetCache(SuggestionSetCache.DEFAULT_CAPACITY);
+  private final Map<String, FormTemplate> formTemplates = new ConcurrentHashMap<>();
+
+  // Beacon state writes run here, in call order.
+  private final ExecutorService commandExecutor = Executors.newSingleThreadExecutor(
+    runnable -> new Thread(runnable, "HelpScoutBeaconCommands")
+  );
+
+  // Created on first use, so getting the controller loads nothing from the SDK.
+  private PushTokenStore pushTokenStore;
+  private AttachmentProcessor attachmentProcessor;
+
+  private HelpScoutBeaconController(Context context) {
+    this.context = context;
+  }
+
+  @NonNull
+  public static synchronized HelpScoutBeaconController getInstance(@NonNull Context context) {
+    if(instance == null) {
+      instance = new HelpScoutBeaconController(context.getApplicationContext());
+    }
+    return instance;
+  }
+
+  /**
+   * Configures Beacon with the settings, identifies the user if given, and opens it.
+   *
+   * @param signature the Secure Mode signature, or null to use the signature provider if any
+   */
+  public void open(@NonNull BeaconSettings settings, @Nullable BeaconUser user, @Nullable String signature, @Nullable Callback callback) {
+    execute("open", () -> applyOpen(settings, user, signature), callback);
+  }
+
+  /**
+   * Opens Beacon on a screen, with the current configuration.
+   *
+   * @param articleId the article to show, for {@link BeaconScreens#ARTICLE_SCREEN}
+   */
+  public void navigate(@NonNull BeaconScreens screen, @Nullable String articleId, @Nullable String signature, @Nullable Callback callback) {
+    execute("navigate", () -> applyNavigate(screen, articleId, signature), callback);
+  }
+
+  /**
+   * Configures Beacon with the settings and opens it on the results of a docs search.
+   */
+  public void search(@NonNull BeaconSettings settings, @NonNull String query, @Nullable String signature, @Nullable Callback callback) {
+    execute("search", () -> applySearch(settings, query, signature), callback);
+  }
+
+  public void identify(@NonNull BeaconUser user, @Nullable Callback callback) {
+    execute("identify", () -> applyIdentity(user), callback);
+  }
+
+  public void logout(@Nullable Callback callback) {
+    execute("logout", this::applyLogout, callback);
+  }
+
+  public void registerPushNotificationToken(@NonNull String token, @Nullable Callback callback) {
+    execute("registerPushNotificationToken", () -> applyPushNotificationToken(token), callback);
+  }
+
+  public void suggest(@NonNull List<SuggestedArticle> suggestions, @Nullable Callback callback) {
+    execute("suggest", () -> applySuggestions(suggestions), callback);
+  }
+
+  /**
+   * Keeps a list of suggestions under a key, to be suggested later with {@link #useSuggestionSet}.
+   */
+  public void registerSuggestionSet(@NonNull String key, @NonNull List<SuggestedArticle> suggestions, @Nullable Callback callback) {
+    execute("registerSuggestionSet", () -> applySuggestionSet(key, suggestions), callback);
+  }
+
+  public void useSuggestionSet(@NonNull String key, @Nullable Callback callback) {
+    execute("useSuggestionSet", () -> applyUseSuggestionSet(key), callback);
+  }
+
+  /**
+   * Sets the attributes kept first when an identity has more than Beacon can hold, and applies it
+   * to the current identity.
+   *
+   * @param keys attribute keys, most important first
+   */
+  public void setAttributePriority(@NonNull List<String> keys, @Nullable Callback callback) {
+    execute("setAttributePriority", () -> applyAttributePriority(keys), callback);
+  }
+
+  /**
+   * Registers a beacon under a name, for {@link #openBeacon}, {@link #navigateBeacon} and
+   * {@link #searchBeacon}.
+   *
+   * @param user the identity to use with this beacon, or null to keep the current one
+   */
+  public void registerBeacon(@NonNull String name, @NonNull BeaconSettings settings, @Nullable BeaconUser user, @Nullable Callback callback) {
+    execute("registerBeacon", () -> applyRegisterBeacon(name, settings, user), callback);
+  }
+
+  public void openBeacon(@NonNull String name, @Nullable String signature, @Nullable Callback callback) {
+    execute("openBeacon", () -> applyOpenBeacon(name, signature), callback);
+  }
+
+  public void navigateBeacon(@NonNull String name, @NonNull BeaconScreens screen, @Nullable String articleId, @Nullable String signature, @Nullable Callback callback) {
+    execute("navigateBeacon", () -> applyNavigateBeacon(name, screen, articleId, signature), callback);
+  }
+
+  public void searchBeacon(@NonNull String name, @NonNull String query, @Nullable String signature, @Nullable Callback callback) {
+    execute("searchBeacon", () -> applySearchBeacon(name, query, signature), callback);
+  }
+
+  /**
+   * Prefills the contact form. Attachments are copied into the app cache, and large images are
+   * downscaled, before the form is handed to Beacon.
+   */
+  public void prefillContactForm(@NonNull PreFilledForm form, @Nullable Callback callback) {
+    execute("prefillContactForm", () -> applyPreFilledForm(form), callback);
+  }
+
+  /**
+   * Keeps a contact form under a key, to be prefilled later with {@link #prefillFromTemplate}. Its
+   * fields, custom field values and attachments may contain {@code {{name}}} placeholders; write
+   * <code>\{{</code> for a literal <code>{{</code>.
+   */
+  public void registerFormTemplate(@NonNull String key, @NonNull PreFilledForm form, @Nullable Callback callback) {
+    execute("registerFormTemplate", () -> applyFormTemplate(key, form), callback);
+  }
+
+  /**
+   * Prefills the contact form registered under the key, with its placeholders replaced by the
+   * variables. Fails with "missing-template-variable" if a placeholder has no value.
+   */
+  public void prefillFromTemplate(@NonNull String key, @NonNull Map<String, String> variables, @Nullable Callback callback) {
+    execute("prefillFromTemplate", () -> applyPrefillFromTemplate(key, variables), callback);
+  }
+
+  public void resetContactForm(@Nullable Callback callback) {
+    execute("resetContactForm", Beacon::contactFormReset, callback);
+  }
+
+  public void resetPrefilledForm(@Nullable Callback callback) {
+    execute("resetPrefilledForm", Beacon::prefilledFormReset, callback);
+  }
+
+  /**
+   * Registers the provider used for Secure Mode when open, navigate or search are called without a
+   * signature. Signatures are cached per identity email and prefetched after each identify.
+   *
+   * @param provider the provider, or null to stop using one
+   * @param ttlMs how long a signature is reused when the provider does not say, or 0 for 15 minutes
+   */
+  public void setSignatureProvider(@Nullable SignatureProvider provider, long ttlMs) {
+    signatureCache.setProvider(provider, ttlMs);
+    BeaconUser user;
+    synchronized(lock) {
+      user = identifiedUser;
+    }
+    if(provider != null && user != null && user.getEmail() != null) {
+      signatureCache.prefetch(user.getEmail());
+    }
+  }
+
+  /**
+   * Sets how long launches are coalesced for: requests made within this window of the previous
+   * launch are collapsed into the latest one. Queued like the other calls.
+   */
+  public void setLaunchCoalescingWindow(long windowMs) {
+    execute("setLaunchCoalescingWindow", () -> applyLaunchCoalescingWindow(windowMs), null);
+  }
+
+  /**
+   * Opens Beacon with the settings, identity and Secure Mode signature of the last open, navigate or
+   * search, e.g. from a notification before JS runs. The snapshot is cleared on logout.
+   *
+   * @return false if there is no snapshot to open from
+   */
+  public boolean openFromSnapshot() {
+    BeaconSnapshotStore store = BeaconSnapshotStore.getInstance(context);
+    if(!store.exists()) {
+      return false;
+    }
+    execute("openFromSnapshot", () -> applyOpenFromSnapshot(store), null);
+    return true;
+  }
+
+  /**
+   * Configures Beacon for the beacon id, unless it already is, and loads the SDK classes used by
+   * the first open.
+   */
+  void prewarm(String beaconId) {
+    execute("prewarm", () -> {
+      configureBeacon(beaconId);
+      BeaconPrewarmer.preloadClasses(context.getClassLoader());
+    }, null);
+  }
+
+  /**
+   * Writes the calls recorded in the call trace to a file, e.g. to attach it to the contact form.
+   *
+   * @param file the file to write, replaced if it exists
+   */
+  public void dumpTrace(@NonNull File file) throws IOException {
+    CallTrace.get().dump(file);
+  }
+
+  /**
+   * Runs the command on the command executor, records its latency under the method name and in the
+   * call trace, and reports its outcome to the callback.
+   */
+  void execute(String method, Command command, @Nullable Callback callback) {
+    PerformanceStats.MethodStats stats = PerformanceStats.get().forMethod(method);
+    long calledAtMillis = System.currentTimeMillis();
+    long queuedAt = System.nanoTime();
+    String thread = Thread.currentThread().getName();
+    commandExecutor.execute(() -> {
+      long startedAt = System.nanoTime();
+      decodedAtNanos = startedAt;
+      argumentFingerprint = 0;
+      Throwable failure = null;
+      try {
+        command.run();
+      } catch(Throwable error) {
+        failure = error;
+      }
+      long finishedAt = System.nanoTime();
+      stats.record(decodedAtNanos - startedAt, finishedAt - decodedAtNanos, finishedAt - startedAt);
+      String code = failure == null ? null
+        : failure instanceof BeaconException ? ((BeaconException) failure).getCode()
+        : "beacon-error";
+      CallTrace.get().record(method, argumentFingerprint, thread, calledAtMillis, startedAt - queuedAt, finishedAt - startedAt, code);
+
+      if(callback == null) {
+        if(failure != null) {
+          Log.w(TAG, method + " failed", failure);
+        }
+      } else if(failure == null) {
+        callback.onSuccess();
+      } else {
+        callback.onError(code, failure);
+      }
+    });
+  }
+
+  /**
+   * Marks the arguments of the running command as decoded; the rest of the command counts as SDK
+   * time. The value is hashed into the command's argument fingerprint in the call trace.
+   */
+  static <T> T decoded(T value) {
+    argumentFingerprint = argumentFingerprint * 31 + Objects.hashCode(value);
+    markDecoded();
+    return value;
+  }
+
+  /**
+   * Like {@link #decoded}, for values without a content hash, which are left out of the argument
+   * fingerprint.
+   */
+  static void markDecoded() {
+    decodedAtNanos = System.nanoTime();
+  }
+
+  void configureBeacon(BeaconSettings settings) {
+    synchronized(lock) {
+      if(settings.equals(configuredSettings)) {
+        return;
+      }
+
+      Beacon.Builder builder = new Beacon.Builder()
+        .withBeaconId(settings.beaconId);
+      if(settings.logsEnabled != null) {
+        builder = builder.withLogsEnabled(settings.logsEnabled);
+      }
+      builder.build();
+      Beacon.setConfigOverrides(settings.getConfigOverrides());
+      configuredSettings = settings;
+    }
+  }
+
+  /**
+   * Builds the Beacon for a beacon id without overrides. Used by the native prewarm hook, which
+   * runs before any settings are received from JS.
+   */
+  void configureBeacon(String beaconId) {
+    synchronized(lock) {
+      if(configuredSettings == null) {
+        configureBeacon(BeaconSettings.withBeaconId(beaconId));
+      }
+    }
+  }
+
+  /**
+   * Configures Beacon for a registered beacon, saving the identity and suggestions of the beacon it
+   * switches from and restoring those of the new one.
+   */
+  private void switchBeacon(String name) {
+    synchronized(lock) {
+      BeaconRegistry.Entry entry = beaconRegistry.get(name);
+      if(name.equals(activeBeacon)) {
+        return;
+      }
+      deactivateBeacon();
+      configureBeacon(entry.settings);
+      activeBeacon = name;
+      applyIdentity(entry.user);
+      // A beacon without suggestions of its own must not inherit those of the previous one.
+      applySuggestions(entry.suggestions != null ? entry.suggestions : Collections.<SuggestedArticle>emptyList());
+    }
+  }
+
+  private void deactivateBeacon() {
+    synchronized(lock) {
+      BeaconRegistry.Entry previous = activeBeacon != null ? beaconRegistry.find(activeBeacon) : null;
+      if(previous != null) {
+        previous.user = identifiedUser;
+        previous.suggestions = appliedSuggestions;
+      }
+      activeBeacon = null;
+    }
+  }
+
+  // Part of every launch key, so launches of different beacons are not taken for duplicates.
+  private String configuredBeaconId() {
+    synchronized(lock) {
+      return configuredSettings != null ? configuredSettings.beaconId : null;
+    }
+  }
+
+  private static boolean isSameIdentity(BeaconUser user, BeaconUser other) {
+    return user == other || other != null
+      && Objects.equals(user.getEmail(), other.getEmail())
+      && Objects.equals(user.getName(), other.getName())
+      && Objects.equals(user.getCompany(), other.getCompany())
+      && Objects.equals(user.getJobTitle(), other.getJobTitle())
+      && Objects.equals(user.getAvatar(), other.getAvatar());
+  }
+
+  void applyIdentity(@Nullable BeaconUser user) {
+    if(user == null) {
+      return;
+    }
+    boolean changed;
+    synchronized(lock) {
+      if(user == identifiedUser) {
+        return;
+      }
+      changed = !isSameIdentity(user, identifiedUser);
+      if(changed) {
+        Beacon.identify(user.getEmail(), user.getName(), user.getCompany(), user.getJobTitle(), user.getAvatar());
+      }
+      attributeSync.sync(user.getAttributes());
+      identifiedUser = user;
+    }
+    if(changed && user.getEmail() != null) {
+      signatureCache.prefetch(user.getEmail());
+    }
+  }
+
+  /**
+   * Returns the given signature, or the provider's signature for the identified user when none is
+   * given and a provider is registered.
+   */
+  @Nullable
+  private String resolveSignature(@Nullable String signature) throws InterruptedException {
+    if(signature != null || !signatureCache.hasProvider()) {
+      return signature;
+    }
+    BeaconUser user;
+    synchronized(lock) {
+      user = identifiedUser;
+    }
+    if(user == null || user.getEmail() == null) {
+      return null;
+    }
+    String providedSignature = signatureCache.get(user.getEmail(), SIGNATURE_TIMEOUT_MS);
+    if(providedSignature == null) {
+      throw new BeaconException("signature-unavailable", "The signature provider did not provide a signature for " + user.getEmail());
+    }
+    return providedSignature;
+  }
+
+  void applySuggestions(List<SuggestedArticle> suggestions) {
+    synchronized(lock) {
+      if(suggestions == appliedSuggestions) {
+        return;
+      }
+      Beacon.setOverrideSuggestedArticlesOrLinks(suggestions);
+      appliedSuggestions = suggestions;
+    }
+  }
+
+  void applySuggestionSet(String key, List<SuggestedArticle> suggestions) {
+    suggestionSets.put(key, suggestions);
+  }
+
+  void applyUseSuggestionSet(String key) {
+    List<SuggestedArticle> suggestions = suggestionSets.get(key);
+    if(suggestions == null) {
+      throw new BeaconException("missing-suggestion-set", "No suggestion set registered for key: " + key);
+    }
+    applySuggestions(suggestions);
+  }
+
+  void applyAttributePriority(List<String> keys) {
+    synchronized(lock) {
+      attributeSync.setPriority(keys);
+      // Identities are decoded into the same instance while unchanged, so applyIdentity would skip
+      // them; re-select the current identity's attributes now.
+      if(identifiedUser != null) {
+        attributeSync.sync(identifiedUser.getAttributes());
+      }
+    }
+  }
+
+  void applyLogout() {
+    synchronized(lock) {
+      Beacon.logout();
+      identifiedUser = null;
+      beaconRegistry.clearIdentities();
+      attributeSync.reset();
+      signatureCache.clear();
+    }
+    // Beacon forgets the token on logout, so the next registration must reach it again.
+    getPushTokenStore().clear();
+    BeaconSnapshotStore.getInstance(context).clear();
+  }
+
+  void applyPrewarm(BeaconSettings settings) {
+    configureBeacon(settings);
+    BeaconPrewarmer.preloadClasses(context.getClassLoader());
+  }
+
+  void applyLaunchCoalescingWindow(long windowMs) {
+    getLauncher().setCoalescingWindow(windowMs);
+  }
+
+  private void applyOpenFromSnapshot(BeaconSnapshotStore store) {
+    BeaconSnapshotStore.Snapshot snapshot = store.load();
+    if(snapshot == null) {
+      throw new BeaconException("missing-snapshot", "The Beacon snapshot could not be read");
+    }
+    deactivateBeacon();
+    configureBeacon(snapshot.settings);
+    applyIdentity(snapshot.user);
+    requestOpen(snapshot.signature);
+  }
+
+  void applyPushNotificationToken(String token) {
+    PushTokenStore store = getPushTokenStore();
+    if(store.isRegistered(token)) {
+      return;
+    }
+    Beacon.setFirebaseCloudMessagingToken(token);
+    store.setRegistered(token);
+  }
+
+  void applyRegisterBeacon(String name, BeaconSettings settings, @Nullable BeaconUser user) {
+    synchronized(lock) {
+      if(name.equals(activeBeacon)) {
+        // Keep what was applied since the switch, and reconfigure on the next one.
+        deactivateBeacon();
+      }
+      beaconRegistry.register(name, settings, user);
+    }
+  }
+
+  void applyOpen(BeaconSettings settings, @Nullable BeaconUser user, @Nullable String rawSignature) throws InterruptedException {
+    deactivateBeacon();
+    configureBeacon(settings);
+    // Identify before launching, so the activity renders with the final identity.
+    applyIdentity(user);
+    launchOpen(rawSignature);
+  }
+
+  void applyOpenBeacon(String name, @Nullable String rawSignature) throws InterruptedException {
+    switchBeacon(name);
+    launchOpen(rawSignature);
+  }
+
+  private void launchOpen(@Nullable String rawSignature) throws InterruptedException {
+    String signature = resolveSignature(rawSignature);
+    saveSnapshot(signature);
+    requestOpen(signature);
+  }
+
+  private void requestOpen(@Nullable String signature) {
+    getLauncher().request("open|" + configuredBeaconId() + "|" + signature, openLaunch(BeaconActivityStarter.SDK, signature));
+  }
+
+  static BeaconLauncher.Launch openLaunch(BeaconActivityStarter starter, @Nullable String signature) {
+    return context -> {
+      if(signature != null) {
+        starter.openInSecureMode(context, signature);
+      } else {
+        starter.open(context);
+      }
+    };
+  }
+
+  /**
+   * Remembers what Beacon is configured with, so {@link #openFromSnapshot} can open it again.
+   */
+  private void saveSnapshot(@Nullable String signature) {
+    BeaconSnapshotStore.Snapshot snapshot;
+    synchronized(lock) {
+      if(configuredSettings == null) {
+        return;
+      }
+      snapshot = new BeaconSnapshotStore.Snapshot(configuredSettings, identifiedUser, signature);
+    }
+    BeaconSnapshotStore.getInstance(context).save(snapshot);
+  }
+
+  void applyNavigate(BeaconScreens screen, @Nullable String articleId, @Nullable String rawSignature) throws InterruptedException {
+    String signature = resolveSignature(rawSignature);
+    saveSnapshot(signature);
+
+    getLauncher().request(
+      "navigate|" + configuredBeaconId() + "|" + screen + "|" + articleId + "|" + signature,
+      navigateLaunch(BeaconActivityStarter.SDK, screen, articleId, signature)
+    );
+  }
+
+  static BeaconLauncher.Launch navigateLaunch(BeaconActivityStarter starter, BeaconScreens screen, @Nullable String articleId, @Nullable String signature) {
+    ArrayList<String> data = new ArrayList<>();
+    if(screen == BeaconScreens.ARTICLE_SCREEN) {
+      data.add(articleId);
+    }
+    return screenLaunch(starter, screen, data, signature);
+  }
+
+  static BeaconLauncher.Launch screenLaunch(BeaconActivityStarter starter, BeaconScreens screen, ArrayList<String> data, @Nullable String signature) {
+    return context -> {
+      if(signature == null) {
+        starter.open(context, screen, data);
+      } else {
+        starter.openInSecureMode(context, signature, screen, data);
+      }
+    };
+  }
+
+  void applyNavigateBeacon(String name, BeaconScreens screen, @Nullable String articleId, @Nullable String rawSignature) throws InterruptedException {
+    switchBeacon(name);
+    applyNavigate(screen, articleId, rawSignature);
+  }
+
+  void applySearchBeacon(String name, String query, @Nullable String rawSignature) throws InterruptedException {
+    switchBeacon(name);
+    launchSearch(query, rawSignature);
+  }
+
+  void applySearch(BeaconSettings settings, String query, @Nullable String rawSignature) throws InterruptedException {
+    deactivateBeacon();
+    configureBeacon(settings);
+    launchSearch(query, rawSignature);
+  }
+
+  private void launchSearch(String query, @Nullable String rawSignature) throws InterruptedException {
+    ArrayList<String> searchList = new ArrayList<String>();
+    searchList.add(query);
+    String signature = resolveSignature(rawSignature);
+    saveSnapshot(signature);
+
+    getLauncher().request(
+      "search|" + configuredBeaconId() + "|" + query + "|" + signature,
+      screenLaunch(BeaconActivityStarter.SDK, BeaconScreens.SEARCH_SCREEN, searchList, signature)
+    );
+  }
+
+  void applyPreFilledForm(PreFilledForm form) {
+    List<String> attachments = getAttachmentProcessor().process(form.getAttachments());
+    Beacon.addPreFilledForm(new PreFilledForm(
+      form.getName(),
+      form.getSubject(),
+      form.getMessage(),
+      form.getCustomFieldValues(),
+      attachments,
+      form.getEmail()
+    ));
+  }
+
+  void applyFormTemplate(String key, PreFilledForm form) {
+    formTemplates.put(key, new FormTemplate(form));
+  }
+
+  void applyPrefillFromTemplate(String key, Map<String, String> variables) {
+    FormTemplate template = formTemplates.get(key);
+    if(template == null) {
+      throw new BeaconException("missing-form-template", "No form template registered for key: " + key);
+    }
+    applyPreFilledForm(template.fill(variables));
+  }
+
+  private BeaconLauncher getLauncher() {
+    return BeaconLauncher.getInstance(context);
+  }
+
+  private synchronized PushTokenStore getPushTokenStore() {
+    if(pushTokenStore == null) {
+      pushTokenStore = new PushTokenStore(context);
+    }
+    return pushTokenStore;
+  }
+
+  private synchronized AttachmentProcessor getAttachmentProcessor() {
+    if(attachmentProcessor == null) {
+      attachmentProcessor = new AttachmentProcessor(context);
+    }
+    return attachmentProcessor;
+  }
+}
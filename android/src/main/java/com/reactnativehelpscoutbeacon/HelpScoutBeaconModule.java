@@ -1,41 +1,65 @@
 package com.reactnativehelpscoutbeacon;
 
+import android.net.Uri;
+
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 
+import com.facebook.react.bridge.Arguments;
 import com.facebook.react.bridge.Promise;
 import com.facebook.react.bridge.ReactApplicationContext;
-import com.facebook.react.bridge.ReactContextBaseJavaModule;
 import com.facebook.react.bridge.ReactMethod;
 import com.facebook.react.bridge.ReadableArray;
 import com.facebook.react.bridge.ReadableMap;
-import com.facebook.react.bridge.ReadableMapKeySetIterator;
+import com.facebook.react.bridge.WritableMap;
 import com.facebook.react.module.annotations.ReactModule;
+import com.facebook.react.modules.core.DeviceEventManagerModule;
 import com.helpscout.beacon.Beacon;
-import com.helpscout.beacon.internal.core.model.ContactFormConfigApi;
-import com.helpscout.beacon.model.BeaconConfigOverrides;
 import com.helpscout.beacon.model.BeaconScreens;
 import com.helpscout.beacon.model.BeaconUser;
-import com.helpscout.beacon.model.FocusMode;
 import com.helpscout.beacon.model.PreFilledForm;
 import com.helpscout.beacon.model.SuggestedArticle;
-import com.helpscout.beacon.ui.BeaconActivity;
-
-import org.jetbrains.annotations.NotNull;
-import org.jetbrains.annotations.Nullable;
 
+import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
-import java.util.function.Function;
-
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Adapter of {@link HelpScoutBeaconController} for JS: decodes the JS payloads on the command
+ * executor and settles the promises with the outcome.
+ */
 @ReactModule(name = HelpScoutBeaconModule.NAME)
-public class HelpScoutBeaconModule extends ReactContextBaseJavaModule {
+public class HelpScoutBeaconModule extends HelpScoutBeaconSpec {
   public static final String NAME = "HelpScoutBeacon";
 
+  private static final BeaconSettingsDecoder settingsDecoder = new BeaconSettingsDecoder();
+
+  private static final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+    runnable -> new Thread(runnable, "HelpScoutBeaconScheduler")
+  );
+
+  public static final String PERFORMANCE_STATS_EVENT = "HelpScoutBeaconPerformanceStats";
+
+  private static final String TRACE_FILE_NAME = "helpscout-beacon-trace.tsv";
+
+  static final long DEFAULT_PROMISE_TIMEOUT_MS = 60000;
+  private static volatile long promiseTimeoutMs = DEFAULT_PROMISE_TIMEOUT_MS;
+
+  private final HelpScoutBeaconController controller;
+  private ScheduledFuture<?> performanceStatsReporter;
+
+  // Created on the first launch, so creating the module loads nothing from the SDK.
+  private BeaconEventEmitter eventEmitter;
+  private JsSignatureProvider jsSignatureProvider;
+
   public HelpScoutBeaconModule(ReactApplicationContext reactContext) {
     super(reactContext);
+    controller = HelpScoutBeaconController.getInstance(reactContext);
   }
 
   @Override
@@ -44,206 +68,376 @@ public class HelpScoutBeaconModule extends ReactContextBaseJavaModule {
     return NAME;
   }
 
-  private BeaconConfigOverrides extractBeaconSettings(ReadableMap rawSettings) {
-    String rawFocusMode = rawSettings.hasKey("focusMode") ? rawSettings.getString("focusMode") : "invalid";
-    FocusMode focusMode;
-    switch(rawFocusMode) {
-      case "neutral": focusMode = FocusMode.NEUTRAL; break;
-      case "self-service": focusMode = FocusMode.SELF_SERVICE; break;
-      case "ask-first": focusMode = FocusMode.ASK_FIRST; break;
-      default: focusMode = null; break;
-    }
-    BeaconConfigOverrides configOverrides = new BeaconConfigOverrides(
-      rawSettings.hasKey("docsEnabled") ? rawSettings.getBoolean("docsEnabled") : null,
-      rawSettings.hasKey("messagingEnabled") ? rawSettings.getBoolean("messagingEnabled") : null,
-      rawSettings.hasKey("chatEnabled") ? rawSettings.getBoolean("chatEnabled") : null,
-      null,
-      rawSettings.hasKey("color") ? rawSettings.getString("color") : null,
-      focusMode,
-      rawSettings.hasKey("enablePreviousMessages") ? rawSettings.getBoolean("enablePreviousMessages") : true
-    );
-    return configOverrides;
-  }
-
-  private BeaconUser extractBeaconUserFromIdentity(ReadableMap identity) {
-    if(identity == null) {
-      return null;
+  @Override
+  public void invalidate() {
+    super.invalidate();
+    setPerformanceStatsReporter(0);
+  }
+
+  /**
+   * Installs the Beacon event handler, before the first launch: events only follow a launch.
+   */
+  private synchronized void registerEventEmitter() {
+    if(eventEmitter == null) {
+      eventEmitter = new BeaconEventEmitter(getReactApplicationContext());
+      eventEmitter.register();
     }
+  }
 
-    Map<String, String> attributes = new HashMap<>();
-    ReadableMap rawAttributes = identity.hasKey("attributes") ? identity.getMap("attributes") : null;
-    if(rawAttributes != null) {
-      ReadableMapKeySetIterator iterator = rawAttributes.keySetIterator();
-      while(iterator.hasNextKey()) {
-        String key = iterator.nextKey();
-        attributes.put(key, rawAttributes.getString(key));
+  /**
+   * Runs the command on the controller's command executor and settles the promise with its outcome.
+   */
+  private void dispatch(String method, Promise jsPromise, HelpScoutBeaconController.Command command) {
+    Promise promise = settling(method, jsPromise);
+    controller.execute(method, command, new HelpScoutBeaconController.Callback() {
+      @Override
+      public void onSuccess() {
+        promise.resolve(null);
       }
-    }
 
-    BeaconUser user = new BeaconUser(
-      identity.getString("email"),
-      identity.hasKey("name") ? identity.getString("name") : null,
-      identity.hasKey("company") ? identity.getString("company") : null,
-      identity.hasKey("jobTitle") ? identity.getString("jobTitle") : null,
-      identity.hasKey("avatar") ? identity.getString("avatar") : null,
-      attributes
-    );
+      @Override
+      public void onError(@NonNull String code, @NonNull Throwable error) {
+        promise.reject(code, error.getMessage(), error);
+      }
+    });
+  }
 
-    return user;
+  /**
+   * Wraps the promise so it settles exactly once, at the latest when the promise timeout elapses.
+   */
+  private static Promise settling(String method, Promise promise) {
+    return new SettlingPromise(promise, method, promiseTimeoutMs, scheduler);
   }
 
-  private BeaconUser extractBeaconUserFromSettings(ReadableMap rawSettings) {
-    ReadableMap identity = rawSettings.getMap("identity");
-    return extractBeaconUserFromIdentity(identity);
+  private static <T> T decoded(T value) {
+    return HelpScoutBeaconController.decoded(value);
   }
 
-  private void configureBeacon(ReadableMap rawSettings) {
-    Beacon.Builder builder = new Beacon.Builder()
-      .withBeaconId(rawSettings.getString("beaconId"));
-    if(rawSettings.hasKey("logsEnabled")) {
-      builder = builder.withLogsEnabled(rawSettings.getBoolean("logsEnabled"));
+  private synchronized void setPerformanceStatsReporter(long intervalMs) {
+    if(performanceStatsReporter != null) {
+      performanceStatsReporter.cancel(false);
+      performanceStatsReporter = null;
     }
-    builder.build();
-    BeaconConfigOverrides configOverrides = extractBeaconSettings(rawSettings);
-    Beacon.setConfigOverrides(configOverrides);
-  }
-
-  private List<SuggestedArticle> extractBeaconSuggestions(ReadableArray rawSuggestions) {
-    List<SuggestedArticle> suggestions = new ArrayList<>();
-
-    for(int index = 0; index < rawSuggestions.size(); index++) {
-      ReadableMap rawSuggestion = rawSuggestions.getMap(index);
-      String type = rawSuggestion.getString("type");
-      if(type.equals("link")) {
-        String link = rawSuggestion.getString("link");
-        String label = rawSuggestion.getString("label");
-        suggestions.add(new SuggestedArticle.SuggestedArticleWithUrl(label, link));
-      } else if(type.equals("article")) {
-        String articleId = rawSuggestion.getString("articleId");
-        suggestions.add(new SuggestedArticle.SuggestedArticleWithId(articleId));
-      } else {;
-        throw new Error("Invalid suggestion type: " + type);
-      }
+    if(intervalMs > 0) {
+      performanceStatsReporter = scheduler.scheduleAtFixedRate(() -> {
+        ReactApplicationContext context = getReactApplicationContext();
+        if(context.hasActiveCatalystInstance()) {
+          context.getJSModule(DeviceEventManagerModule.RCTDeviceEventEmitter.class)
+            .emit(PERFORMANCE_STATS_EVENT, PerformanceStats.get().toWritableMap());
+        }
+      }, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
     }
+  }
 
-    return suggestions;
+  private void applyOpen(ReadableMap rawSettings, @Nullable String signature) throws InterruptedException {
+    BeaconSettingsDecoder.DecodedSettings decodedSettings = decoded(settingsDecoder.decodeSettings(rawSettings));
+    controller.applyOpen(decodedSettings.settings, decodedSettings.user, signature);
   }
 
-  @ReactMethod
-  public void open(ReadableMap rawSettings, String signature, Promise promise) {
-    configureBeacon(rawSettings);
+  private void applyNavigate(String route, @Nullable String signature, @Nullable String articleId) throws InterruptedException {
+    controller.applyNavigate(decoded(BeaconPayloadDecoder.extractBeaconScreen(route)), articleId, signature);
+  }
 
-    if(signature != null) {
-      BeaconActivity.openInSecureMode(getReactApplicationContext(), signature);
-    } else {
-      BeaconActivity.open(getReactApplicationContext());
-    }
+  private void applySearch(String query, ReadableMap rawSettings, @Nullable String signature) throws InterruptedException {
+    controller.applySearch(decoded(settingsDecoder.decodeSettings(rawSettings)).settings, query, signature);
+  }
+
+  private void applyPreFilledForm(ReadableMap formData) {
+    controller.applyPreFilledForm(decoded(BeaconPayloadDecoder.extractPreFilledForm(formData, BeaconPayloadDecoder.extractAttachments(formData))));
+  }
 
-    BeaconUser user = extractBeaconUserFromSettings(rawSettings);
-    if(user != null) {
-      Beacon.identify(user.getEmail(), user.getName(), user.getCompany(), user.getJobTitle(), user.getAvatar());
+  /**
+   * Decodes every operation of a batch up front, so an invalid entry fails the whole batch before
+   * any of it reaches the Beacon SDK.
+   */
+  private List<HelpScoutBeaconController.Command> extractBatchOperations(ReadableArray rawOperations) {
+    List<HelpScoutBeaconController.Command> operations = new ArrayList<>(rawOperations.size());
+
+    for(int index = 0; index < rawOperations.size(); index++) {
+      ReadableMap rawOperation = rawOperations.getMap(index);
+      String type = rawOperation.getString("type");
+      switch(type) {
+        case "open": {
+          BeaconSettingsDecoder.DecodedSettings decodedSettings = decoded(settingsDecoder.decodeSettings(rawOperation.getMap("settings")));
+          String signature = BeaconPayloadDecoder.getOptionalString(rawOperation, "signature");
+          operations.add(() -> controller.applyOpen(decodedSettings.settings, decodedSettings.user, signature));
+          break;
+        }
+        case "identify": {
+          BeaconUser user = decoded(settingsDecoder.decodeIdentity(rawOperation.getMap("identity")));
+          operations.add(() -> controller.applyIdentity(user));
+          break;
+        }
+        case "logout":
+          operations.add(controller::applyLogout);
+          break;
+        case "suggest": {
+          List<SuggestedArticle> suggestions = decoded(BeaconPayloadDecoder.extractBeaconSuggestions(rawOperation.getArray("suggestions")));
+          operations.add(() -> controller.applySuggestions(suggestions));
+          break;
+        }
+        case "navigate": {
+          BeaconScreens screen = decoded(BeaconPayloadDecoder.extractBeaconScreen(rawOperation.getString("route")));
+          String signature = BeaconPayloadDecoder.getOptionalString(rawOperation, "signature");
+          String articleId = BeaconPayloadDecoder.getOptionalString(rawOperation, "articleId");
+          operations.add(() -> controller.applyNavigate(screen, articleId, signature));
+          break;
+        }
+        case "search": {
+          String query = rawOperation.getString("query");
+          BeaconSettings settings = decoded(settingsDecoder.decodeSettings(rawOperation.getMap("settings"))).settings;
+          String signature = BeaconPayloadDecoder.getOptionalString(rawOperation, "signature");
+          operations.add(() -> controller.applySearch(settings, query, signature));
+          break;
+        }
+        case "prefillContactForm": {
+          ReadableMap formData = rawOperation.getMap("formData");
+          PreFilledForm form = decoded(BeaconPayloadDecoder.extractPreFilledForm(formData, BeaconPayloadDecoder.extractAttachments(formData)));
+          operations.add(() -> controller.applyPreFilledForm(form));
+          break;
+        }
+        case "resetContactForm":
+          operations.add(Beacon::contactFormReset);
+          break;
+        case "resetPrefilledForm":
+          operations.add(Beacon::prefilledFormReset);
+          break;
+        default:
+          throw new BeaconException("invalid-batch", "Invalid operation type: " + type);
+      }
     }
-    promise.resolve(null);
+
+    return operations;
+  }
+
+  @ReactMethod
+  public void open(ReadableMap rawSettings, @Nullable String signature, Promise promise) {
+    registerEventEmitter();
+    dispatch("open", promise, () -> applyOpen(rawSettings, signature));
   }
 
   @ReactMethod
   public void identify(ReadableMap identity, Promise promise) {
-    BeaconUser user = extractBeaconUserFromIdentity(identity);
-    if(user != null) {
-      Beacon.identify(user.getEmail(), user.getName(), user.getCompany(), user.getJobTitle(), user.getAvatar());
-    }
-    promise.resolve(null);
+    dispatch("identify", promise, () -> controller.applyIdentity(decoded(settingsDecoder.decodeIdentity(identity))));
   }
 
   @ReactMethod
   public void logout(Promise promise) {
-    Beacon.logout();
-    promise.resolve(null);
+    dispatch("logout", promise, controller::applyLogout);
   }
 
   @ReactMethod
   public void registerPushNotificationToken(String token, Promise promise) {
-    Beacon.setFirebaseCloudMessagingToken(token);
-    promise.resolve(null);
+    dispatch("registerPushNotificationToken", promise, () -> controller.applyPushNotificationToken(token));
   }
 
   @ReactMethod
   public void suggest(ReadableArray suggestions, Promise promise) {
-    List<SuggestedArticle> beaconSuggestions = extractBeaconSuggestions(suggestions);
-    Beacon.setOverrideSuggestedArticlesOrLinks(beaconSuggestions);
-    promise.resolve(null);
+    dispatch("suggest", promise, () -> controller.applySuggestions(decoded(BeaconPayloadDecoder.extractBeaconSuggestions(suggestions))));
   }
 
   @ReactMethod
-  public void navigate(String route, ReadableMap rawSettings, String signature, String articleId, Promise promise) {
-    BeaconScreens screen;
-    switch(route) {
-      case "home": screen = BeaconScreens.DEFAULT; break;
-      case "article": screen = BeaconScreens.ARTICLE_SCREEN; break;
-      case "contact": screen = BeaconScreens.CONTACT_FORM_SCREEN; break;
-      case "chat": screen = BeaconScreens.CHAT; break;
-      case "ask": screen = BeaconScreens.ASK; break;
-      case "previous-messages": screen = BeaconScreens.PREVIOUS_MESSAGES; break;
-      default: throw new Error("Invalid route: " + route);
-    }
+  public void registerSuggestionSet(String key, ReadableArray suggestions, Promise promise) {
+    dispatch("registerSuggestionSet", promise, () -> controller.applySuggestionSet(key, decoded(BeaconPayloadDecoder.extractBeaconSuggestions(suggestions))));
+  }
 
-    ArrayList<String> data = new ArrayList<>();
-    if(route.equals("article")) {
-      data.add(articleId);
-    }
+  @ReactMethod
+  public void useSuggestionSet(String key, Promise promise) {
+    dispatch("useSuggestionSet", promise, () -> controller.applyUseSuggestionSet(key));
+  }
 
-    if(signature == null) {
-      BeaconActivity.open(getReactApplicationContext(), screen, data);
-    } else {
-      BeaconActivity.openInSecureMode(getReactApplicationContext(), signature, BeaconScreens.SEARCH_SCREEN, data);
-    }
+  @ReactMethod
+  public void setAttributePriority(ReadableArray keys, Promise promise) {
+    dispatch("setAttributePriority", promise, () -> {
+      List<String> priority = new ArrayList<>(keys.size());
+      for(int i = 0; i < keys.size(); i++) {
+        priority.add(keys.getString(i));
+      }
+      controller.applyAttributePriority(decoded(priority));
+    });
+  }
+
+  @ReactMethod
+  public void registerBeacon(String name, ReadableMap rawSettings, Promise promise) {
+    dispatch("registerBeacon", promise, () -> {
+      BeaconSettingsDecoder.DecodedSettings decodedSettings = decoded(settingsDecoder.decodeSettings(rawSettings));
+      controller.applyRegisterBeacon(name, decodedSettings.settings, decodedSettings.user);
+    });
+  }
+
+  @ReactMethod
+  public void openBeacon(String name, @Nullable String signature, Promise promise) {
+    registerEventEmitter();
+    dispatch("openBeacon", promise, () -> controller.applyOpenBeacon(name, signature));
+  }
+
+  @ReactMethod
+  public void navigateBeacon(String name, String route, @Nullable String signature, @Nullable String articleId, Promise promise) {
+    registerEventEmitter();
+    dispatch("navigateBeacon", promise, () -> {
+      BeaconScreens screen = decoded(BeaconPayloadDecoder.extractBeaconScreen(route));
+      controller.applyNavigateBeacon(name, screen, articleId, signature);
+    });
+  }
+
+  @ReactMethod
+  public void searchBeacon(String name, String query, @Nullable String signature, Promise promise) {
+    registerEventEmitter();
+    dispatch("searchBeacon", promise, () -> controller.applySearchBeacon(name, query, signature));
+  }
+
+  @ReactMethod
+  public void navigate(String route, ReadableMap rawSettings, @Nullable String signature, @Nullable String articleId, Promise promise) {
+    registerEventEmitter();
+    dispatch("navigate", promise, () -> applyNavigate(route, signature, articleId));
+  }
+
+  @ReactMethod
+  public void search(String query, ReadableMap rawSettings, @Nullable String signature, Promise promise) {
+    registerEventEmitter();
+    dispatch("search", promise, () -> applySearch(query, rawSettings, signature));
+  }
+
+  @ReactMethod
+  public void prefillContactForm(ReadableMap formData, Promise promise) {
+    dispatch("prefillContactForm", promise, () -> applyPreFilledForm(formData));
+  }
+
+  @ReactMethod
+  public void registerFormTemplate(String key, ReadableMap formData, Promise promise) {
+    dispatch("registerFormTemplate", promise, () -> controller.applyFormTemplate(key, decoded(BeaconPayloadDecoder.extractPreFilledForm(formData, BeaconPayloadDecoder.extractAttachments(formData)))));
+  }
+
+  @ReactMethod
+  public void prefillFromTemplate(String key, ReadableMap variables, Promise promise) {
+    dispatch("prefillFromTemplate", promise, () -> controller.applyPrefillFromTemplate(key, decoded(BeaconPayloadDecoder.extractTemplateVariables(variables))));
+  }
+
+  @ReactMethod
+  public void resetContactForm(Promise promise) {
+    dispatch("resetContactForm", promise, Beacon::contactFormReset);
+  }
+
+  @ReactMethod
+  public void resetPrefilledForm(Promise promise) {
+    dispatch("resetPrefilledForm", promise, Beacon::prefilledFormReset);
+  }
+
+  @ReactMethod
+  public void setLaunchCoalescingWindow(double windowMs, Promise promise) {
+    registerEventEmitter();
+    dispatch("setLaunchCoalescingWindow", promise, () -> controller.applyLaunchCoalescingWindow((long) windowMs));
+  }
+
+  @ReactMethod
+  public void getPerformanceStats(Promise promise) {
+    promise.resolve(PerformanceStats.get().toWritableMap());
+  }
+
+  @ReactMethod
+  public void setPerformanceStatsInterval(double intervalMs, Promise promise) {
+    setPerformanceStatsReporter((long) intervalMs);
     promise.resolve(null);
   }
 
   @ReactMethod
-  public void search(String query, ReadableMap rawSettings, String signature, Promise promise) {
-    ArrayList<String> searchList = new ArrayList<String>();
-    searchList.add(query);
+  public void setPromiseTimeout(double timeoutMs, Promise promise) {
+    promiseTimeoutMs = (long) timeoutMs;
+    promise.resolve(null);
+  }
 
-    configureBeacon(rawSettings);
+  @ReactMethod
+  public void getPromiseStats(Promise promise) {
+    WritableMap stats = Arguments.createMap();
+    stats.putDouble("outstanding", SettlingPromise.getOutstandingCount());
+    stats.putDouble("timedOut", SettlingPromise.getTimedOutCount());
+    promise.resolve(stats);
+  }
 
-    if(signature == null) {
-      BeaconActivity.open(getReactApplicationContext(), BeaconScreens.SEARCH_SCREEN, searchList);
-    } else {
-      BeaconActivity.openInSecureMode(getReactApplicationContext(), signature, BeaconScreens.SEARCH_SCREEN, searchList);
+  /**
+   * Writes the call trace on the scheduler rather than the command executor, so a trace can still
+   * be taken while a command is stuck. Resolves with the file URI, ready to attach to the contact
+   * form.
+   */
+  @ReactMethod
+  public void dumpTrace(@Nullable String path, Promise jsPromise) {
+    Promise promise = settling("dumpTrace", jsPromise);
+    File file = path != null ? new File(path) : new File(getReactApplicationContext().getCacheDir(), TRACE_FILE_NAME);
+    scheduler.execute(() -> {
+      try {
+        controller.dumpTrace(file);
+        promise.resolve(Uri.fromFile(file).toString());
+      } catch(IOException | RuntimeException error) {
+        promise.reject("trace-dump-failed", error.getMessage(), error);
+      }
+    });
+  }
+
+  @ReactMethod
+  public void addListener(String eventName) {
+    // Required by NativeEventEmitter; events are emitted regardless of listeners.
+  }
+
+  @ReactMethod
+  public void removeListeners(double count) {
+    // Required by NativeEventEmitter.
+  }
+
+  @ReactMethod
+  public void setJsSignatureProvider(boolean enabled, double ttlMs, Promise promise) {
+    synchronized(this) {
+      if(enabled && jsSignatureProvider == null) {
+        jsSignatureProvider = new JsSignatureProvider(getReactApplicationContext());
+      }
     }
+    controller.setSignatureProvider(enabled ? jsSignatureProvider : null, (long) ttlMs);
     promise.resolve(null);
   }
 
   @ReactMethod
-  public void prefillContactForm(ReadableMap formData, Promise promise) {
-    ReadableMap customFieldValues = formData.getMap("customFieldValues");
-    Map<Integer, String> attributes = new HashMap<>();
-    ReadableMapKeySetIterator iterator = customFieldValues.keySetIterator();
-    while(iterator.hasNextKey()) {
-      String key = iterator.nextKey();
-      attributes.put(Integer.parseInt(key), customFieldValues.getString(key));
+  public void resolveSignatureRequest(double requestId, @Nullable String signature, double ttlMs, @Nullable String error) {
+    JsSignatureProvider provider;
+    synchronized(this) {
+      provider = jsSignatureProvider;
+    }
+    if(provider != null) {
+      provider.settle((int) requestId, signature, (long) ttlMs, error);
     }
-    PreFilledForm prefilled = new PreFilledForm(
-      formData.getString("name"),
-      formData.getString("subject"),
-      formData.getString("message"),
-      attributes,
-      (List) formData.getArray("attachments").toArrayList(),
-      formData.getString("email")
-    );
-    Beacon.addPreFilledForm(prefilled);
-    promise.resolve(null);
   }
 
   @ReactMethod
-  public void resetContactForm(Promise promise) {
-    Beacon.contactFormReset();
+  public void prewarm(ReadableMap rawSettings, Promise jsPromise) {
+    Promise promise = settling("prewarm", jsPromise);
+    controller.execute("prewarm", () -> controller.applyPrewarm(decoded(settingsDecoder.decodeSettings(rawSettings)).settings), new HelpScoutBeaconController.Callback() {
+      @Override
+      public void onSuccess() {
+        promise.resolve(null);
+      }
+
+      @Override
+      public void onError(@NonNull String code, @NonNull Throwable error) {
+        promise.reject("prewarm-failed", error.getMessage(), error);
+      }
+    });
   }
 
   @ReactMethod
-  public void resetPrefilledForm(Promise promise) {
-    Beacon.prefilledFormReset();
+  public void applyBatch(ReadableArray rawOperations, Promise promise) {
+    registerEventEmitter();
+    dispatch("applyBatch", promise, () -> {
+      List<HelpScoutBeaconController.Command> operations;
+      try {
+        // Each decoded payload is mixed into the argument fingerprint as it is extracted.
+        operations = extractBatchOperations(rawOperations);
+        HelpScoutBeaconController.markDecoded();
+      } catch(RuntimeException | Error error) {
+        throw new BeaconException("invalid-batch", error.getMessage(), error);
+      }
+
+      for(HelpScoutBeaconController.Command operation : operations) {
+        operation.run();
+      }
+    });
   }
 
 }
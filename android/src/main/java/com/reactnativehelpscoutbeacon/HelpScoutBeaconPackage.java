@@ -1,28 +1,71 @@
 package com.reactnativehelpscoutbeacon;
 
+import android.content.Context;
+
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 
-import com.facebook.react.ReactPackage;
+import com.facebook.react.TurboReactPackage;
 import com.facebook.react.bridge.NativeModule;
 import com.facebook.react.bridge.ReactApplicationContext;
-import com.facebook.react.uimanager.ViewManager;
+import com.facebook.react.module.model.ReactModuleInfo;
+import com.facebook.react.module.model.ReactModuleInfoProvider;
+
+import java.util.HashMap;
+import java.util.Map;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
+public class HelpScoutBeaconPackage extends TurboReactPackage {
+    /**
+     * Initializes the Beacon SDK and preloads its activity classes on a background thread once the
+     * main thread is idle. Call it from {@code Application.onCreate()} to make the first open as
+     * fast as a warm one; settings sent later from JS still take precedence.
+     *
+     * @param context any context, used for its class loader
+     * @param beaconId the id of the beacon that will be opened
+     */
+    public static void prewarm(@NonNull Context context, @NonNull String beaconId) {
+        BeaconPrewarmer.runInBackgroundWhenIdle(() -> HelpScoutBeaconController.getInstance(context).prewarm(beaconId));
+    }
+
+    /**
+     * Opens Beacon with the settings, identity and Secure Mode signature of the last open, navigate
+     * or search made from JS, without starting React Native. Meant for notification handlers and
+     * {@code MainActivity}; JS can reconcile its state once it runs. The snapshot is cleared on
+     * logout.
+     *
+     * @param context any context
+     * @return false if there is no snapshot to open from
+     */
+    public static boolean openFromSnapshot(@NonNull Context context) {
+        return HelpScoutBeaconController.getInstance(context).openFromSnapshot();
+    }
 
-public class HelpScoutBeaconPackage implements ReactPackage {
-    @NonNull
+    @Nullable
     @Override
-    public List<NativeModule> createNativeModules(@NonNull ReactApplicationContext reactContext) {
-        List<NativeModule> modules = new ArrayList<>();
-        modules.add(new HelpScoutBeaconModule(reactContext));
-        return modules;
+    public NativeModule getModule(@NonNull String name, @NonNull ReactApplicationContext reactContext) {
+        if (name.equals(HelpScoutBeaconModule.NAME)) {
+            return new HelpScoutBeaconModule(reactContext);
+        }
+        return null;
     }
 
-    @NonNull
     @Override
-    public List<ViewManager> createViewManagers(@NonNull ReactApplicationContext reactContext) {
-        return Collections.emptyList();
+    public ReactModuleInfoProvider getReactModuleInfoProvider() {
+        return () -> {
+            Map<String, ReactModuleInfo> moduleInfos = new HashMap<>();
+            boolean isTurboModule = BuildConfig.IS_NEW_ARCHITECTURE_ENABLED;
+            moduleInfos.put(
+                HelpScoutBeaconModule.NAME,
+                new ReactModuleInfo(
+                    HelpScoutBeaconModule.NAME,
+                    HelpScoutBeaconModule.NAME,
+                    false, // canOverrideExistingModule
+                    false, // needsEagerInit
+                    false, // hasConstants
+                    false, // isCxxModule
+                    isTurboModule // isTurboModule
+                ));
+            return moduleInfos;
+        };
     }
 }
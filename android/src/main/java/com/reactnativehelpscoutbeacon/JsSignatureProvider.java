@@ -0,0 +1,62 @@
+package com.reactnativehelpscoutbeacon;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.ReactApplicationContext;
+import com.facebook.react.bridge.WritableMap;
+import com.facebook.react.modules.core.DeviceEventManagerModule;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Signature provider backed by a JS function: requests are emitted as events and answered through
+ * {@link #settle(int, String, long, String)}.
+ */
+final class JsSignatureProvider implements SignatureProvider {
+  static final String SIGNATURE_REQUEST_EVENT = "HelpScoutBeaconSignatureRequest";
+
+  private final ReactApplicationContext reactContext;
+  private final Map<Integer, Callback> pending = new HashMap<>();
+  private int nextRequestId;
+
+  JsSignatureProvider(ReactApplicationContext reactContext) {
+    this.reactContext = reactContext;
+  }
+
+  @Override
+  public void fetchSignature(@NonNull String email, @NonNull Callback callback) {
+    int requestId;
+    synchronized(this) {
+      requestId = nextRequestId++;
+      pending.put(requestId, callback);
+    }
+
+    if(!reactContext.hasActiveCatalystInstance()) {
+      settle(requestId, null, 0, "The React instance is not running");
+      return;
+    }
+    WritableMap request = Arguments.createMap();
+    request.putInt("requestId", requestId);
+    request.putString("email", email);
+    reactContext.getJSModule(DeviceEventManagerModule.RCTDeviceEventEmitter.class)
+      .emit(SIGNATURE_REQUEST_EVENT, request);
+  }
+
+  void settle(int requestId, @Nullable String signature, long ttlMs, @Nullable String error) {
+    Callback callback;
+    synchronized(this) {
+      callback = pending.remove(requestId);
+    }
+    if(callback == null) {
+      return;
+    }
+    if(signature != null) {
+      callback.onSignature(signature, ttlMs);
+    } else {
+      callback.onError(new Exception(error != null ? error : "No signature provided"));
+    }
+  }
+}
@@ -0,0 +1,70 @@
+package com.reactnativehelpscoutbeacon;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.WritableMap;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size latency histogram with power-of-two microsecond buckets.
+ *
+ * Recording is lock-free and does not allocate; percentiles are reported as the upper bound of the
+ * bucket they fall in.
+ */
+final class LatencyHistogram {
+  // Bucket i holds samples in [2^i, 2^(i + 1)) microseconds, the last one everything above.
+  private static final int BUCKET_COUNT = 32;
+
+  private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+  private final AtomicLong count = new AtomicLong();
+  private final AtomicLong totalNanos = new AtomicLong();
+  private final AtomicLong maxNanos = new AtomicLong();
+
+  void record(long nanos) {
+    if(nanos < 0) {
+      return;
+    }
+    long micros = nanos / 1000;
+    int bucket = micros == 0 ? 0 : Math.min(BUCKET_COUNT - 1, 63 - Long.numberOfLeadingZeros(micros));
+    buckets.incrementAndGet(bucket);
+    count.incrementAndGet();
+    totalNanos.addAndGet(nanos);
+
+    long max;
+    while(nanos > (max = maxNanos.get()) && !maxNanos.compareAndSet(max, nanos)) {
+      // Retry until the maximum is at least this sample.
+    }
+  }
+
+  long getCount() {
+    return count.get();
+  }
+
+  WritableMap toWritableMap() {
+    long samples = count.get();
+    WritableMap map = Arguments.createMap();
+    map.putDouble("count", samples);
+    map.putDouble("meanMs", samples == 0 ? 0 : totalNanos.get() / (double) samples / 1e6);
+    map.putDouble("maxMs", maxNanos.get() / 1e6);
+    map.putDouble("p50Ms", percentileMs(samples, 0.50));
+    map.putDouble("p90Ms", percentileMs(samples, 0.90));
+    map.putDouble("p99Ms", percentileMs(samples, 0.99));
+    return map;
+  }
+
+  private double percentileMs(long samples, double percentile) {
+    if(samples == 0) {
+      return 0;
+    }
+    long rank = (long) Math.ceil(samples * percentile);
+    long seen = 0;
+    for(int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+      seen += buckets.get(bucket);
+      if(seen >= rank) {
+        return (1L << (bucket + 1)) / 1000.0;
+      }
+    }
+    return maxNanos.get() / 1e6;
+  }
+}
@@ -0,0 +1,81 @@
+package com.reactnativehelpscoutbeacon;
+
+/**
+ * Decides when the launches requested from {@link BeaconLauncher} run: requests within the
+ * coalescing window of the previous launch are collapsed into the latest one, and a request
+ * identical to the previous launch is dropped while that launch is in flight or on screen.
+ *
+ * Kept free of Android so the decisions can be unit tested with explicit times; not thread-safe,
+ * BeaconLauncher confines it to the main thread.
+ */
+final class LaunchCoalescer {
+  static final long DEFAULT_WINDOW_MS = 300;
+  // A launch whose activity has not resumed by then is no longer considered in flight, e.g. when
+  // it failed to start.
+  static final long LAUNCH_TIMEOUT_MS = 3000;
+
+  static final class Pending {
+    final String key;
+    final BeaconLauncher.Launch launch;
+
+    Pending(String key, BeaconLauncher.Launch launch) {
+      this.key = key;
+      this.launch = launch;
+    }
+  }
+
+  private long windowMs = DEFAULT_WINDOW_MS;
+  private long lastLaunchTime = Long.MIN_VALUE / 2;
+  private String lastLaunchKey;
+  // Set when a launch runs, cleared when a BeaconActivity resumes.
+  private boolean launchInFlight;
+  private Pending pending;
+
+  void setWindow(long windowMs) {
+    this.windowMs = Math.max(0, windowMs);
+  }
+
+  /**
+   * @return true if a request made now can run right away, false if it must be queued
+   */
+  boolean canRunNow(long now) {
+    return pending == null && now >= lastLaunchTime + windowMs;
+  }
+
+  /**
+   * Queues the request, replacing any queued one.
+   *
+   * @return when the queued request should run
+   */
+  long enqueue(String key, BeaconLauncher.Launch launch, long now) {
+    pending = new Pending(key, launch);
+    return Math.max(now, lastLaunchTime + windowMs);
+  }
+
+  Pending takePending() {
+    Pending taken = pending;
+    pending = null;
+    return taken;
+  }
+
+  /**
+   * Decides whether a launch runs and, if it does, records it.
+   *
+   * @param beaconInForeground whether a BeaconActivity is currently resumed
+   * @return false if the launch duplicates the previous one, still in flight or on screen
+   */
+  boolean tryLaunch(String key, long now, boolean beaconInForeground) {
+    boolean inFlight = launchInFlight && now < lastLaunchTime + LAUNCH_TIMEOUT_MS;
+    if(key.equals(lastLaunchKey) && (inFlight || beaconInForeground)) {
+      return false;
+    }
+    lastLaunchTime = now;
+    lastLaunchKey = key;
+    launchInFlight = true;
+    return true;
+  }
+
+  void onBeaconResumed() {
+    launchInFlight = false;
+  }
+}
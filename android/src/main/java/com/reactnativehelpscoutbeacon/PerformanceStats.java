@@ -0,0 +1,80 @@
+package com.reactnativehelpscoutbeacon;
+
+import android.os.SystemClock;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.WritableMap;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Process-wide latency and throughput statistics of the module's methods.
+ */
+final class PerformanceStats {
+  static final class MethodStats {
+    final LatencyHistogram decode = new LatencyHistogram();
+    final LatencyHistogram sdk = new LatencyHistogram();
+    final LatencyHistogram total = new LatencyHistogram();
+
+    void record(long decodeNanos, long sdkNanos, long totalNanos) {
+      decode.record(decodeNanos);
+      sdk.record(sdkNanos);
+      total.record(totalNanos);
+    }
+
+    WritableMap toWritableMap(long uptimeMs) {
+      long calls = total.getCount();
+      WritableMap map = Arguments.createMap();
+      map.putDouble("calls", calls);
+      map.putDouble("callsPerSecond", uptimeMs == 0 ? 0 : calls * 1000.0 / uptimeMs);
+      map.putMap("decode", decode.toWritableMap());
+      map.putMap("sdk", sdk.toWritableMap());
+      map.putMap("total", total.toWritableMap());
+      return map;
+    }
+  }
+
+  private static final PerformanceStats instance = new PerformanceStats();
+
+  private final long startedAt = SystemClock.elapsedRealtime();
+  private final Map<String, MethodStats> methods = new ConcurrentHashMap<>();
+  // Time from a BeaconActivity launch to the first frame drawn after it resumed.
+  private final LatencyHistogram firstFrame = new LatencyHistogram();
+
+  private PerformanceStats() {}
+
+  static PerformanceStats get() {
+    return instance;
+  }
+
+  MethodStats forMethod(String method) {
+    MethodStats stats = methods.get(method);
+    if(stats == null) {
+      MethodStats created = new MethodStats();
+      stats = methods.putIfAbsent(method, created);
+      if(stats == null) {
+        stats = created;
+      }
+    }
+    return stats;
+  }
+
+  void recordFirstFrame(long nanos) {
+    firstFrame.record(nanos);
+  }
+
+  WritableMap toWritableMap() {
+    long uptimeMs = SystemClock.elapsedRealtime() - startedAt;
+    WritableMap methodsMap = Arguments.createMap();
+    for(Map.Entry<String, MethodStats> entry : methods.entrySet()) {
+      methodsMap.putMap(entry.getKey(), entry.getValue().toWritableMap(uptimeMs));
+    }
+
+    WritableMap map = Arguments.createMap();
+    map.putDouble("uptimeMs", uptimeMs);
+    map.putMap("methods", methodsMap);
+    map.putMap("firstFrame", firstFrame.toWritableMap());
+    return map;
+  }
+}
@@ -0,0 +1,68 @@
+package com.reactnativehelpscoutbeacon;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+
+import androidx.annotation.Nullable;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Remembers, across launches, a hash of the push token last registered with Beacon.
+ *
+ * Writes go through {@link SharedPreferences.Editor#apply()}, so they are asynchronous and batched
+ * with other preference writes.
+ */
+final class PushTokenStore {
+  private static final String PREFERENCES_NAME = "com.reactnativehelpscoutbeacon";
+  private static final String TOKEN_HASH_KEY = "pushTokenHash";
+
+  private final SharedPreferences preferences;
+  private String registeredHash;
+  private boolean loaded;
+
+  PushTokenStore(Context context) {
+    preferences = context.getApplicationContext().getSharedPreferences(PREFERENCES_NAME, Context.MODE_PRIVATE);
+  }
+
+  synchronized boolean isRegistered(String token) {
+    return hash(token).equals(getRegisteredHash());
+  }
+
+  synchronized void setRegistered(String token) {
+    registeredHash = hash(token);
+    loaded = true;
+    preferences.edit().putString(TOKEN_HASH_KEY, registeredHash).apply();
+  }
+
+  synchronized void clear() {
+    registeredHash = null;
+    loaded = true;
+    preferences.edit().remove(TOKEN_HASH_KEY).apply();
+  }
+
+  @Nullable
+  private String getRegisteredHash() {
+    if(!loaded) {
+      registeredHash = preferences.getString(TOKEN_HASH_KEY, null);
+      loaded = true;
+    }
+    return registeredHash;
+  }
+
+  private static String hash(String token) {
+    try {
+      byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+      StringBuilder hex = new StringBuilder(digest.length * 2);
+      for(byte value : digest) {
+        hex.append(Character.forDigit((value >> 4) & 0xF, 16)).append(Character.forDigit(value & 0xF, 16));
+      }
+      return hex.toString();
+    } catch(NoSuchAlgorithmException error) {
+      // SHA-256 is available on every Android version.
+      throw new IllegalStateException(error);
+    }
+  }
+}
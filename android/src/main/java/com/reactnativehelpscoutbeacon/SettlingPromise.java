@@ -0,0 +1,141 @@
+package com.reactnativehelpscoutbeacon;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.facebook.react.bridge.Promise;
+import com.facebook.react.bridge.WritableMap;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Promise that is guaranteed to settle exactly once: it is rejected with a "timeout" code if the
+ * wrapped call did not settle it in time, and later settlements are ignored.
+ *
+ * Keeps process-wide counters of the promises still pending and of those that timed out, so leaks
+ * in the bridge's callback table can be observed.
+ */
+final class SettlingPromise implements Promise {
+  private static final AtomicLong outstanding = new AtomicLong();
+  private static final AtomicLong timedOut = new AtomicLong();
+
+  private final Promise delegate;
+  private final AtomicBoolean settled = new AtomicBoolean();
+  @Nullable private final ScheduledFuture<?> timeout;
+
+  SettlingPromise(Promise delegate, String method, long timeoutMs, ScheduledExecutorService scheduler) {
+    this.delegate = delegate;
+    outstanding.incrementAndGet();
+    if(timeoutMs > 0) {
+      timeout = scheduler.schedule(() -> {
+        if(settle()) {
+          timedOut.incrementAndGet();
+          delegate.reject("timeout", method + " did not complete within " + timeoutMs + "ms");
+        }
+      }, timeoutMs, TimeUnit.MILLISECONDS);
+    } else {
+      timeout = null;
+    }
+  }
+
+  static long getOutstandingCount() {
+    return outstanding.get();
+  }
+
+  static long getTimedOutCount() {
+    return timedOut.get();
+  }
+
+  private boolean settle() {
+    if(!settled.compareAndSet(false, true)) {
+      return false;
+    }
+    outstanding.decrementAndGet();
+    if(timeout != null) {
+      timeout.cancel(false);
+    }
+    return true;
+  }
+
+  @Override
+  public void resolve(@Nullable Object value) {
+    if(settle()) {
+      delegate.resolve(value);
+    }
+  }
+
+  @Override
+  public void reject(String code, String message) {
+    if(settle()) {
+      delegate.reject(code, message);
+    }
+  }
+
+  @Override
+  public void reject(String code, Throwable throwable) {
+    if(settle()) {
+      delegate.reject(code, throwable);
+    }
+  }
+
+  @Override
+  public void reject(String code, String message, Throwable throwable) {
+    if(settle()) {
+      delegate.reject(code, message, throwable);
+    }
+  }
+
+  @Override
+  public void reject(Throwable throwable) {
+    if(settle()) {
+      delegate.reject(throwable);
+    }
+  }
+
+  @Override
+  public void reject(Throwable throwable, WritableMap userInfo) {
+    if(settle()) {
+      delegate.reject(throwable, userInfo);
+    }
+  }
+
+  @Override
+  public void reject(String code, @NonNull WritableMap userInfo) {
+    if(settle()) {
+      delegate.reject(code, userInfo);
+    }
+  }
+
+  @Override
+  public void reject(String code, Throwable throwable, WritableMap userInfo) {
+    if(settle()) {
+      delegate.reject(code, throwable, userInfo);
+    }
+  }
+
+  @Override
+  public void reject(String code, String message, @NonNull WritableMap userInfo) {
+    if(settle()) {
+      delegate.reject(code, message, userInfo);
+    }
+  }
+
+  @Override
+  public void reject(String code, String message, Throwable throwable, WritableMap userInfo) {
+    if(settle()) {
+      delegate.reject(code, message, throwable, userInfo);
+    }
+  }
+
+  @Override
+  @Deprecated
+  public void reject(String message) {
+    if(settle()) {
+      delegate.reject(message);
+    }
+  }
+}
@@ -0,0 +1,157 @@
+package com.reactnativehelpscoutbeacon;
+
+import android.os.SystemClock;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caches Secure Mode signatures per identity email, fetching them from the registered provider.
+ */
+final class SignatureCache {
+  static final long DEFAULT_TTL_MS = 15 * 60 * 1000;
+
+  private static final class Entry {
+    final String signature;
+    final long expiresAt;
+
+    Entry(String signature, long expiresAt) {
+      this.signature = signature;
+      this.expiresAt = expiresAt;
+    }
+  }
+
+  private final Map<String, Entry> signatures = new HashMap<>();
+  private final Map<String, CountDownLatch> inFlight = new HashMap<>();
+  // Providers are called here, so a slow or blocking one never holds up the caller.
+  private final ExecutorService fetchExecutor = Executors.newCachedThreadPool(
+    runnable -> new Thread(runnable, "HelpScoutBeaconSignatures")
+  );
+  private SignatureProvider provider;
+  private long defaultTtlMs = DEFAULT_TTL_MS;
+  // Bumped when the provider changes or the cache is cleared, so answers to earlier requests are
+  // dropped.
+  private long generation;
+
+  synchronized void setProvider(@Nullable SignatureProvider provider, long defaultTtlMs) {
+    this.provider = provider;
+    this.defaultTtlMs = defaultTtlMs > 0 ? defaultTtlMs : DEFAULT_TTL_MS;
+    reset();
+  }
+
+  synchronized boolean hasProvider() {
+    return provider != null;
+  }
+
+  synchronized void clear() {
+    reset();
+  }
+
+  private void reset() {
+    generation++;
+    signatures.clear();
+    // Release the waiters of abandoned requests instead of leaving them to time out.
+    for(CountDownLatch fetched : inFlight.values()) {
+      fetched.countDown();
+    }
+    inFlight.clear();
+  }
+
+  /**
+   * Starts fetching the signature of the email unless a valid one is cached or already being
+   * fetched.
+   */
+  void prefetch(@NonNull String email) {
+    fetch(email);
+  }
+
+  /**
+   * Returns the signature of the email, waiting up to the timeout for it to be fetched.
+   *
+   * @return the signature, or null when no provider is registered or it did not provide one in time
+   */
+  @Nullable
+  String get(@NonNull String email, long timeoutMs) throws InterruptedException {
+    CountDownLatch fetched = fetch(email);
+    if(fetched != null && !fetched.await(timeoutMs, TimeUnit.MILLISECONDS)) {
+      synchronized(this) {
+        // The provider may never answer, e.g. after a JS reload; let the next call ask again.
+        if(inFlight.get(email) == fetched) {
+          inFlight.remove(email);
+        }
+      }
+    }
+    synchronized(this) {
+      Entry entry = signatures.get(email);
+      return entry != null && entry.expiresAt > SystemClock.elapsedRealtime() ? entry.signature : null;
+    }
+  }
+
+  @Nullable
+  private CountDownLatch fetch(String email) {
+    SignatureProvider currentProvider;
+    CountDownLatch fetched;
+    long requestGeneration;
+    synchronized(this) {
+      if(provider == null) {
+        return null;
+      }
+      Entry entry = signatures.get(email);
+      if(entry != null && entry.expiresAt > SystemClock.elapsedRealtime()) {
+        return null;
+      }
+      fetched = inFlight.get(email);
+      if(fetched != null) {
+        return fetched;
+      }
+      fetched = new CountDownLatch(1);
+      inFlight.put(email, fetched);
+      currentProvider = provider;
+      requestGeneration = generation;
+    }
+
+    CountDownLatch request = fetched;
+    SignatureProvider.Callback callback = new SignatureProvider.Callback() {
+      @Override
+      public void onSignature(@NonNull String signature, long ttlMs) {
+        synchronized(SignatureCache.this) {
+          if(requestGeneration == generation) {
+            long ttl = ttlMs > 0 ? ttlMs : defaultTtlMs;
+            signatures.put(email, new Entry(signature, SystemClock.elapsedRealtime() + ttl));
+          }
+          finish(email, request);
+        }
+      }
+
+      @Override
+      public void onError(@NonNull Exception error) {
+        synchronized(SignatureCache.this) {
+          finish(email, request);
+        }
+      }
+    };
+    fetchExecutor.execute(() -> {
+      try {
+        currentProvider.fetchSignature(email, callback);
+      } catch(RuntimeException error) {
+        callback.onError(error);
+      }
+    });
+    return fetched;
+  }
+
+  // Called while holding the cache's lock.
+  private void finish(String email, CountDownLatch request) {
+    if(inFlight.get(email) == request) {
+      inFlight.remove(email);
+    }
+    request.countDown();
+  }
+}
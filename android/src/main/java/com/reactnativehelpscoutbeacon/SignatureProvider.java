@@ -0,0 +1,26 @@
+package com.reactnativehelpscoutbeacon;
+
+import androidx.annotation.NonNull;
+
+/**
+ * Supplies Secure Mode signatures, e.g. by asking your backend, so they don't have to be passed to
+ * every open/navigate/search call. Register it with
+ * {@link HelpScoutBeaconController#setSignatureProvider(SignatureProvider, long)}.
+ */
+public interface SignatureProvider {
+  interface Callback {
+    /**
+     * @param signature the signature for the requested email
+     * @param ttlMs how long the signature can be reused, or 0 to use the default
+     */
+    void onSignature(@NonNull String signature, long ttlMs);
+
+    void onError(@NonNull Exception error);
+  }
+
+  /**
+   * Fetches the signature of the given email. Called on a background thread; the callback can be
+   * invoked from any thread.
+   */
+  void fetchSignature(@NonNull String email, @NonNull Callback callback);
+}
@@ -0,0 +1,39 @@
+package com.reactnativehelpscoutbeacon;
+
+import com.helpscout.beacon.model.SuggestedArticle;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bounded LRU cache of parsed suggestion lists, keyed by a name chosen on the JS side.
+ *
+ * Lists are stored unmodifiable so the same instance can be handed to Beacon every time the set is
+ * used again.
+ */
+final class SuggestionSetCache {
+  static final int DEFAULT_CAPACITY = 32;
+
+  private final Map<String, List<SuggestedArticle>> sets;
+
+  SuggestionSetCache(int capacity) {
+    sets = new LinkedHashMap<String, List<SuggestedArticle>>(capacity, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, List<SuggestedArticle>> eldest) {
+        return size() > capacity;
+      }
+    };
+  }
+
+  synchronized List<SuggestedArticle> put(String key, List<SuggestedArticle> suggestions) {
+    List<SuggestedArticle> set = Collections.unmodifiableList(suggestions);
+    sets.put(key, set);
+    return set;
+  }
+
+  synchronized List<SuggestedArticle> get(String key) {
+    return sets.get(key);
+  }
+}
@@ -0,0 +1,9 @@
+package com.reactnativehelpscoutbeacon;
+
+import com.facebook.react.bridge.ReactApplicationContext;
+
+abstract class HelpScoutBeaconSpec extends NativeHelpScoutBeaconSpec {
+  HelpScoutBeaconSpec(ReactApplicationContext context) {
+    super(context);
+  }
+}
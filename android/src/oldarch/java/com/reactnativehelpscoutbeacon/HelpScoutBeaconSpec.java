@@ -0,0 +1,81 @@
+package com.reactnativehelpscoutbeacon;
+
+import androidx.annotation.Nullable;
+
+import com.facebook.react.bridge.Promise;
+import com.facebook.react.bridge.ReactApplicationContext;
+import com.facebook.react.bridge.ReactContextBaseJavaModule;
+import com.facebook.react.bridge.ReadableArray;
+import com.facebook.react.bridge.ReadableMap;
+
+/**
+ * Mirrors the codegen'd NativeHelpScoutBeaconSpec (see src/NativeHelpScoutBeacon.ts) so the module
+ * keeps a single implementation on both architectures.
+ */
+abstract class HelpScoutBeaconSpec extends ReactContextBaseJavaModule {
+  HelpScoutBeaconSpec(ReactApplicationContext context) {
+    super(context);
+  }
+
+  public abstract void open(ReadableMap rawSettings, @Nullable String signature, Promise promise);
+
+  public abstract void identify(ReadableMap identity, Promise promise);
+
+  public abstract void logout(Promise promise);
+
+  public abstract void registerPushNotificationToken(String token, Promise promise);
+
+  public abstract void suggest(ReadableArray suggestions, Promise promise);
+
+  public abstract void registerSuggestionSet(String key, ReadableArray suggestions, Promise promise);
+
+  public abstract void useSuggestionSet(String key, Promise promise);
+
+  public abstract void setAttributePriority(ReadableArray keys, Promise promise);
+
+  public abstract void registerBeacon(String name, ReadableMap settings, Promise promise);
+
+  public abstract void openBeacon(String name, @Nullable String signature, Promise promise);
+
+  public abstract void navigateBeacon(String name, String route, @Nullable String signature, @Nullable String articleId, Promise promise);
+
+  public abstract void searchBeacon(String name, String query, @Nullable String signature, Promise promise);
+
+  public abstract void navigate(String route, ReadableMap rawSettings, @Nullable String signature, @Nullable String articleId, Promise promise);
+
+  public abstract void search(String query, ReadableMap rawSettings, @Nullable String signature, Promise promise);
+
+  public abstract void prefillContactForm(ReadableMap formData, Promise promise);
+
+  public abstract void registerFormTemplate(String key, ReadableMap formData, Promise promise);
+
+  public abstract void prefillFromTemplate(String key, ReadableMap variables, Promise promise);
+
+  public abstract void resetContactForm(Promise promise);
+
+  public abstract void resetPrefilledForm(Promise promise);
+
+  public abstract void setLaunchCoalescingWindow(double windowMs, Promise promise);
+
+  public abstract void getPerformanceStats(Promise promise);
+
+  public abstract void setPerformanceStatsInterval(double intervalMs, Promise promise);
+
+  public abstract void setPromiseTimeout(double timeoutMs, Promise promise);
+
+  public abstract void getPromiseStats(Promise promise);
+
+  public abstract void dumpTrace(@Nullable String path, Promise promise);
+
+  public abstract void addListener(String eventName);
+
+  public abstract void removeListeners(double count);
+
+  public abstract void setJsSignatureProvider(boolean enabled, double ttlMs, Promise promise);
+
+  public abstract void resolveSignatureRequest(double requestId, @Nullable String signature, double ttlMs, @Nullable String error);
+
+  public abstract void prewarm(ReadableMap settings, Promise promise);
+
+  public abstract void applyBatch(ReadableArray operations, Promise promise);
+}
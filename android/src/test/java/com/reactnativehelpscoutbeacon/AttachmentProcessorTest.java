@@ -0,0 +1,30 @@
+package com.reactnativehelpscoutbeacon;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+import org.junit.Test;
+
+import java.io.File;
+
+public class AttachmentProcessorTest {
+  private final File directory = new File("attachments");
+
+  @Test
+  public void lowercaseJpgIsEncodedNextToItsCopy() {
+    File copy = AttachmentProcessor.copyTarget(directory, 0, "IMG_1234.jpg");
+    File target = AttachmentProcessor.downscaleTarget(directory, 0, "IMG_1234.jpg");
+
+    // The downscaled copy replaces the original copy...
+    assertEquals(copy, target);
+    // ...so it must be encoded elsewhere, leaving the original and its EXIF readable.
+    File encoded = AttachmentProcessor.encodingFile(target);
+    assertNotEquals(copy, encoded);
+    assertEquals(directory, encoded.getParentFile());
+  }
+
+  @Test
+  public void otherImagesAreDownscaledToJpg() {
+    assertEquals(new File(directory, "1-screenshot.jpg"), AttachmentProcessor.downscaleTarget(directory, 1, "screenshot.png"));
+  }
+}
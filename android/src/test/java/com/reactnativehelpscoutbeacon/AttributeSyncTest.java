@@ -0,0 +1,84 @@
+package com.reactnativehelpscoutbeacon;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class AttributeSyncTest {
+  private final List<String> calls = new ArrayList<>();
+  private final AttributeSync sync = new AttributeSync(new AttributeSync.Sink() {
+    @Override
+    public void add(String key, String value) {
+      calls.add("add " + key + "=" + value);
+    }
+
+    @Override
+    public void remove(String key) {
+      calls.add("remove " + key);
+    }
+
+    @Override
+    public void clear() {
+      calls.add("clear");
+    }
+  });
+
+  @Test
+  public void newKeyWithNullValueIsNotSent() {
+    Map<String, String> attributes = new HashMap<>();
+    attributes.put("plan", null);
+
+    sync.sync(attributes);
+
+    assertEquals(Arrays.<String>asList(), calls);
+  }
+
+  @Test
+  public void changeToNullRemovesTheAttribute() {
+    Map<String, String> attributes = new HashMap<>();
+    attributes.put("plan", "pro");
+    attributes.put("team", "core");
+    sync.sync(attributes);
+    calls.clear();
+
+    attributes.put("plan", null);
+    sync.sync(attributes);
+
+    assertEquals(Arrays.asList("remove plan"), calls);
+  }
+
+  @Test
+  public void valueSetAgainAfterNullIsAddedBack() {
+    Map<String, String> attributes = new HashMap<>();
+    attributes.put("plan", "pro");
+    attributes.put("team", "core");
+    sync.sync(attributes);
+    attributes.put("plan", null);
+    sync.sync(attributes);
+    calls.clear();
+
+    attributes.put("plan", "pro");
+    sync.sync(attributes);
+
+    assertEquals(Arrays.asList("add plan=pro"), calls);
+  }
+
+  @Test
+  public void allValuesNullClearsTheAttributes() {
+    Map<String, String> attributes = new HashMap<>();
+    attributes.put("plan", "pro");
+    sync.sync(attributes);
+    calls.clear();
+
+    attributes.put("plan", null);
+    sync.sync(attributes);
+
+    assertEquals(Arrays.asList("clear"), calls);
+  }
+}
@@ -0,0 +1,53 @@
+package com.reactnativehelpscoutbeacon;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import com.helpscout.beacon.model.PreFilledForm;
+
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+public class FormTemplateTest {
+  private static PreFilledForm form(String message, Map<Integer, String> customFieldValues) {
+    return new PreFilledForm("Name", "Subject", message, customFieldValues, Collections.<String>emptyList(), "user@example.com");
+  }
+
+  @Test
+  public void fillsPlaceholders() {
+    FormTemplate template = new FormTemplate(form("Device: {{device}}, build {{ build }}", Collections.<Integer, String>emptyMap()));
+
+    Map<String, String> variables = new HashMap<>();
+    variables.put("device", "Pixel");
+    variables.put("build", "42");
+
+    assertEquals("Device: Pixel, build 42", template.fill(variables).getMessage());
+  }
+
+  @Test
+  public void keepsEscapedBracesLiteral() {
+    Map<Integer, String> customFieldValues = new HashMap<>();
+    customFieldValues.put(1, "\\{{static}}");
+    FormTemplate template = new FormTemplate(form("Info: \\{{\"os\": \"{{os}}\"}}", customFieldValues));
+
+    PreFilledForm filled = template.fill(Collections.singletonMap("os", "14"));
+
+    assertEquals("Info: {{\"os\": \"14\"}}", filled.getMessage());
+    assertEquals("{{static}}", filled.getCustomFieldValues().get(1));
+  }
+
+  @Test
+  public void rejectsMissingVariables() {
+    FormTemplate template = new FormTemplate(form("{{log}}", Collections.<Integer, String>emptyMap()));
+
+    try {
+      template.fill(Collections.<String, String>emptyMap());
+      fail();
+    } catch(BeaconException error) {
+      assertEquals("missing-template-variable", error.getCode());
+    }
+  }
+}
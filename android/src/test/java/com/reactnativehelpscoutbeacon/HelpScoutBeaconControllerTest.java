@@ -0,0 +1,81 @@
+package com.reactnativehelpscoutbeacon;
+
+import static org.junit.Assert.assertEquals;
+
+import android.content.Context;
+
+import com.helpscout.beacon.model.BeaconScreens;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+
+public class HelpScoutBeaconControllerTest {
+  private static final class RecordingStarter implements BeaconActivityStarter {
+    String call;
+    String signature;
+    BeaconScreens screen;
+    ArrayList<String> data;
+
+    @Override
+    public void open(Context context) {
+      call = "open";
+    }
+
+    @Override
+    public void open(Context context, BeaconScreens screen, ArrayList<String> data) {
+      call = "open";
+      this.screen = screen;
+      this.data = data;
+    }
+
+    @Override
+    public void openInSecureMode(Context context, String signature) {
+      call = "openInSecureMode";
+      this.signature = signature;
+    }
+
+    @Override
+    public void openInSecureMode(Context context, String signature, BeaconScreens screen, ArrayList<String> data) {
+      call = "openInSecureMode";
+      this.signature = signature;
+      this.screen = screen;
+      this.data = data;
+    }
+  }
+
+  @Test
+  public void navigateToArticleWithProvidedSignatureOpensArticleScreen() {
+    RecordingStarter starter = new RecordingStarter();
+
+    HelpScoutBeaconController.navigateLaunch(starter, BeaconScreens.ARTICLE_SCREEN, "article-id", "signature").open(null);
+
+    assertEquals("openInSecureMode", starter.call);
+    assertEquals("signature", starter.signature);
+    assertEquals(BeaconScreens.ARTICLE_SCREEN, starter.screen);
+    assertEquals(Collections.singletonList("article-id"), starter.data);
+  }
+
+  @Test
+  public void navigateWithProvidedSignatureKeepsScreen() {
+    RecordingStarter starter = new RecordingStarter();
+
+    HelpScoutBeaconController.navigateLaunch(starter, BeaconScreens.CONTACT_FORM_SCREEN, null, "signature").open(null);
+
+    assertEquals("openInSecureMode", starter.call);
+    assertEquals(BeaconScreens.CONTACT_FORM_SCREEN, starter.screen);
+    assertEquals(Collections.emptyList(), starter.data);
+  }
+
+  @Test
+  public void navigateWithoutSignatureOpensScreen() {
+    RecordingStarter starter = new RecordingStarter();
+
+    HelpScoutBeaconController.navigateLaunch(starter, BeaconScreens.ARTICLE_SCREEN, "article-id", null).open(null);
+
+    assertEquals("open", starter.call);
+    assertEquals(BeaconScreens.ARTICLE_SCREEN, starter.screen);
+    assertEquals(Collections.singletonList("article-id"), starter.data);
+  }
+}
@@ -0,0 +1,62 @@
+package com.reactnativehelpscoutbeacon;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class LaunchCoalescerTest {
+  private static final BeaconLauncher.Launch LAUNCH = context -> {};
+
+  @Test
+  public void doubleTapLaunchesOnceWhileTheActivityHasNotResumed() {
+    LaunchCoalescer coalescer = new LaunchCoalescer();
+
+    // First tap runs right away.
+    assertTrue(coalescer.canRunNow(0));
+    assertTrue(coalescer.tryLaunch("open", 0, false));
+
+    // Second tap, 50 ms later, is queued until the window ends.
+    assertFalse(coalescer.canRunNow(50));
+    assertEquals(LaunchCoalescer.DEFAULT_WINDOW_MS, coalescer.enqueue("open", LAUNCH, 50));
+
+    // The activity is slow to start and has not resumed when the window ends.
+    LaunchCoalescer.Pending pending = coalescer.takePending();
+    assertSame(LAUNCH, pending.launch);
+    assertFalse(coalescer.tryLaunch(pending.key, LaunchCoalescer.DEFAULT_WINDOW_MS, false));
+    assertNull(coalescer.takePending());
+  }
+
+  @Test
+  public void differentLaunchRunsWhileTheFirstIsInFlight() {
+    LaunchCoalescer coalescer = new LaunchCoalescer();
+
+    assertTrue(coalescer.tryLaunch("open", 0, false));
+
+    assertTrue(coalescer.tryLaunch("search|password", 400, false));
+  }
+
+  @Test
+  public void sameLaunchRunsAgainOnceBeaconWasClosed() {
+    LaunchCoalescer coalescer = new LaunchCoalescer();
+
+    assertTrue(coalescer.tryLaunch("open", 0, false));
+    coalescer.onBeaconResumed();
+    assertFalse(coalescer.tryLaunch("open", 1000, true));
+
+    assertTrue(coalescer.tryLaunch("open", 2000, false));
+  }
+
+  @Test
+  public void launchThatNeverResumesStopsBlockingAfterTheTimeout() {
+    LaunchCoalescer coalescer = new LaunchCoalescer();
+
+    assertTrue(coalescer.tryLaunch("open", 0, false));
+    assertFalse(coalescer.tryLaunch("open", LaunchCoalescer.LAUNCH_TIMEOUT_MS - 1, false));
+
+    assertTrue(coalescer.tryLaunch("open", LaunchCoalescer.LAUNCH_TIMEOUT_MS, false));
+  }
+}
@@ -5,6 +5,10 @@ include $(REACT_ANDROID_DIR)/Android-prebuilt.mk
 # If you wish to add a custom TurboModule or Fabric component in your app you
 # will have to include the following autogenerated makefile.
 # include $(GENERATED_SRC_DIR)/codegen/jni/Android.mk
+
+# The JNI glue generated for react-native-help-scout-beacon's TurboModule.
+include $(HELP_SCOUT_BEACON_CODEGEN_DIR)/Android.mk
+
 include $(CLEAR_VARS)
 
 LOCAL_PATH := $(THIS_DIR)
@@ -32,6 +36,7 @@ LOCAL_SHARED_LIBRARIES := \
   libfolly_json \
   libglog \
   libjsi \
+  libreact_codegen_RNHelpScoutBeaconSpec \
   libreact_codegen_rncore \
   libreact_debug \
   libreact_nativemodule_core \
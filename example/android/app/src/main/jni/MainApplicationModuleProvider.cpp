@@ -1,5 +1,6 @@
 #include "MainApplicationModuleProvider.h"
 
+#include <RNHelpScoutBeaconSpec.h>
 #include <rncore.h>
 
 namespace facebook {
@@ -18,7 +19,10 @@ std::shared_ptr<TurboModule> MainApplicationModuleProvider(
   // }
   // return rncore_ModuleProvider(moduleName, params);
 
-
+  auto module = RNHelpScoutBeaconSpec_ModuleProvider(moduleName, params);
+  if (module != nullptr) {
+    return module;
+  }
   return rncore_ModuleProvider(moduleName, params);
 }
 
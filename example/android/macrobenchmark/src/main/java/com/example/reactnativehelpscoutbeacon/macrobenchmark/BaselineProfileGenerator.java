@@ -0,0 +1,56 @@
+package com.example.reactnativehelpscoutbeacon.macrobenchmark;
+
+import androidx.benchmark.macro.junit4.BaselineProfileRule;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.uiautomator.By;
+import androidx.test.uiautomator.UiDevice;
+import androidx.test.uiautomator.UiObject2;
+import androidx.test.uiautomator.Until;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Arrays;
+
+import kotlin.Unit;
+
+/**
+ * Collects the Baseline Profile shipped in android/src/main/baseline-prof.txt by going through
+ * every Beacon entry point of the example app. Needs a rooted device or emulator with API 28+;
+ * the updateBaselineProfile task copies the result into the library.
+ */
+@RunWith(AndroidJUnit4.class)
+public class BaselineProfileGenerator {
+  private static final String PACKAGE_NAME = "com.example.reactnativehelpscoutbeacon";
+  private static final long TIMEOUT_MS = 10000;
+
+  @Rule
+  public final BaselineProfileRule baselineProfileRule = new BaselineProfileRule();
+
+  @Test
+  public void generate() {
+    baselineProfileRule.collectBaselineProfile(
+      PACKAGE_NAME,
+      // Only keep the library and the Beacon SDK; the app's own code has its own profile.
+      Arrays.asList("com.reactnativehelpscoutbeacon", "com.helpscout.beacon"),
+      scope -> {
+        scope.pressHome();
+        scope.startActivityAndWait();
+        for(String buttonText : new String[] { "OPEN HS", "OPEN ARTICLE", "SEARCH", "PREFILL FORM" }) {
+          UiDevice device = scope.getDevice();
+          UiObject2 button = device.wait(Until.findObject(By.text(buttonText)), TIMEOUT_MS);
+          if(button == null) {
+            throw new AssertionError("Button " + buttonText + " not found");
+          }
+          button.click();
+          device.wait(Until.gone(By.text(buttonText)), TIMEOUT_MS);
+          device.waitForIdle();
+          device.pressBack();
+          device.wait(Until.hasObject(By.text(buttonText)), TIMEOUT_MS);
+        }
+        return Unit.INSTANCE;
+      }
+    );
+  }
+}
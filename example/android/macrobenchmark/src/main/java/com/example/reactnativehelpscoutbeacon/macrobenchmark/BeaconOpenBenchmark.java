@@ -0,0 +1,130 @@
+package com.example.reactnativehelpscoutbeacon.macrobenchmark;
+
+import androidx.benchmark.macro.CompilationMode;
+import androidx.benchmark.macro.FrameTimingMetric;
+import androidx.benchmark.macro.MacrobenchmarkScope;
+import androidx.benchmark.macro.Metric;
+import androidx.benchmark.macro.StartupMode;
+import androidx.benchmark.macro.TraceSectionMetric;
+import androidx.benchmark.macro.junit4.MacrobenchmarkRule;
+import androidx.test.platform.app.InstrumentationRegistry;
+import androidx.test.uiautomator.By;
+import androidx.test.uiautomator.UiDevice;
+import androidx.test.uiautomator.UiObject2;
+import androidx.test.uiautomator.Until;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+import kotlin.Unit;
+
+/**
+ * Measures how long the example app takes to show Beacon from each of its entry points, after a
+ * cold and a warm start of the app.
+ *
+ * "HelpScoutBeacon.launch" covers the library and SDK work on the main thread, and
+ * "HelpScoutBeacon.firstFrame" runs from the launch to the first frame of BeaconActivity. The
+ * Beacon SDK has no endpoint override, so the device is taken offline for the run and Beacon
+ * renders without a backend. The example app configures Beacon with prewarm when it starts, so the
+ * navigate entry points measure an open rather than a call to an unconfigured SDK.
+ */
+@RunWith(Parameterized.class)
+public class BeaconOpenBenchmark {
+  private static final String PACKAGE_NAME = "com.example.reactnativehelpscoutbeacon";
+  private static final int ITERATIONS = 10;
+  private static final long TIMEOUT_MS = 10000;
+
+  @Parameterized.Parameters(name = "{0}")
+  public static List<StartupMode> startupModes() {
+    return Arrays.asList(StartupMode.COLD, StartupMode.WARM);
+  }
+
+  @Rule
+  public final MacrobenchmarkRule benchmarkRule = new MacrobenchmarkRule();
+
+  private final StartupMode startupMode;
+  private final UiDevice device = UiDevice.getInstance(InstrumentationRegistry.getInstrumentation());
+
+  public BeaconOpenBenchmark(StartupMode startupMode) {
+    this.startupMode = startupMode;
+  }
+
+  @Before
+  public void goOffline() throws IOException {
+    device.executeShellCommand("svc wifi disable");
+    device.executeShellCommand("svc data disable");
+  }
+
+  @After
+  public void goOnline() throws IOException {
+    device.executeShellCommand("svc wifi enable");
+    device.executeShellCommand("svc data enable");
+  }
+
+  @Test
+  public void open() {
+    measureLaunchFrom("OPEN HS");
+  }
+
+  @Test
+  public void navigateToArticle() {
+    measureLaunchFrom("OPEN ARTICLE");
+  }
+
+  @Test
+  public void search() {
+    measureLaunchFrom("SEARCH");
+  }
+
+  @Test
+  public void prefillContactForm() {
+    measureLaunchFrom("PREFILL FORM");
+  }
+
+  private void measureLaunchFrom(String buttonText) {
+    List<Metric> metrics = Arrays.asList(
+      new FrameTimingMetric(),
+      new TraceSectionMetric("HelpScoutBeacon.launch"),
+      new TraceSectionMetric("HelpScoutBeacon.firstFrame")
+    );
+    benchmarkRule.measureRepeated(
+      PACKAGE_NAME,
+      metrics,
+      CompilationMode.DEFAULT,
+      startupMode,
+      ITERATIONS,
+      scope -> {
+        scope.pressHome();
+        return Unit.INSTANCE;
+      },
+      scope -> {
+        scope.startActivityAndWait();
+        tapAndWaitForBeacon(scope, buttonText);
+        return Unit.INSTANCE;
+      }
+    );
+  }
+
+  private static void tapAndWaitForBeacon(MacrobenchmarkScope scope, String buttonText) {
+    UiDevice device = scope.getDevice();
+    // React Native renders Android button titles in upper case.
+    UiObject2 button = device.wait(Until.findObject(By.text(buttonText)), TIMEOUT_MS);
+    if(button == null) {
+      throw new AssertionError("Button " + buttonText + " not found");
+    }
+    button.click();
+    // BeaconActivity covers the example screen once it is shown.
+    if(!device.wait(Until.gone(By.text(buttonText)), TIMEOUT_MS)) {
+      throw new AssertionError("Beacon was not shown after tapping " + buttonText);
+    }
+    device.waitForIdle();
+  }
+}
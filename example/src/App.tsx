@@ -1,9 +1,32 @@
 import * as React from 'react';
 
-import { StyleSheet, View, Button } from 'react-native';
+import { StyleSheet, View, Button, Platform } from 'react-native';
 import Beacon from 'react-native-help-scout-beacon';
 
+const settings = {
+  beaconId: 'BEACON-ID',
+  color: '#497E76', // mint turquoise
+};
+
+// navigate doesn't configure Beacon on Android, so it is configured up front with prewarm.
+let configured: Promise<void> | undefined;
+function configure(): Promise<void> {
+  if (!configured) {
+    configured =
+      Platform.OS === 'android'
+        ? Beacon.prewarm(settings).catch((error) => {
+            console.warn('Unable to prewarm Beacon', error);
+          })
+        : Promise.resolve();
+  }
+  return configured;
+}
+
 export default function App() {
+  React.useEffect(() => {
+    configure();
+  }, []);
+
   return (
     <View style={styles.container}>
       <Button
@@ -16,6 +39,36 @@ export default function App() {
           });
         }}
       />
+      <Button
+        title="Open article"
+        onPress={() => {
+          configure().then(() => {
+            Beacon.navigate('article', settings, undefined, 'hsarticleid');
+          });
+        }}
+      />
+      <Button
+        title="Search"
+        onPress={() => {
+          Beacon.search('password', settings);
+        }}
+      />
+      <Button
+        title="Prefill form"
+        onPress={() => {
+          Beacon.prefillContactForm({
+            name: 'Gabriel',
+            email: 'gabriel@betaacid.co',
+            subject: 'Help',
+            message: 'I need help with my account',
+            customFieldValues: {},
+            attachments: [],
+          });
+          configure().then(() => {
+            Beacon.navigate('contact', settings);
+          });
+        }}
+      />
       <Button
         title="Login"
         onPress={() => {
@@ -0,0 +1,61 @@
+import type { TurboModule } from 'react-native';
+import { TurboModuleRegistry } from 'react-native';
+
+export interface Spec extends TurboModule {
+  open(settings: Object, signature: string | null): Promise<void>;
+  identify(identity: Object): Promise<void>;
+  logout(): Promise<void>;
+  registerPushNotificationToken(token: string): Promise<void>;
+  suggest(suggestions: Object[]): Promise<void>;
+  registerSuggestionSet(key: string, suggestions: Object[]): Promise<void>;
+  useSuggestionSet(key: string): Promise<void>;
+  setAttributePriority(keys: string[]): Promise<void>;
+  registerBeacon(name: string, settings: Object): Promise<void>;
+  openBeacon(name: string, signature: string | null): Promise<void>;
+  navigateBeacon(
+    name: string,
+    route: string,
+    signature: string | null,
+    articleId: string | null
+  ): Promise<void>;
+  searchBeacon(
+    name: string,
+    query: string,
+    signature: string | null
+  ): Promise<void>;
+  navigate(
+    route: string,
+    settings: Object,
+    signature: string | null,
+    articleId: string | null
+  ): Promise<void>;
+  search(
+    query: string,
+    settings: Object,
+    signature: string | null
+  ): Promise<void>;
+  prefillContactForm(formData: Object): Promise<void>;
+  registerFormTemplate(key: string, formData: Object): Promise<void>;
+  prefillFromTemplate(key: string, variables: Object): Promise<void>;
+  resetContactForm(): Promise<void>;
+  resetPrefilledForm(): Promise<void>;
+  setLaunchCoalescingWindow(windowMs: number): Promise<void>;
+  getPerformanceStats(): Promise<Object>;
+  setPerformanceStatsInterval(intervalMs: number): Promise<void>;
+  setPromiseTimeout(timeoutMs: number): Promise<void>;
+  getPromiseStats(): Promise<Object>;
+  dumpTrace(path: string | null): Promise<string>;
+  addListener(eventName: string): void;
+  removeListeners(count: number): void;
+  setJsSignatureProvider(enabled: boolean, ttlMs: number): Promise<void>;
+  resolveSignatureRequest(
+    requestId: number,
+    signature: string | null,
+    ttlMs: number,
+    error: string | null
+  ): void;
+  prewarm(settings: Object): Promise<void>;
+  applyBatch(operations: Object[]): Promise<void>;
+}
+
+export default TurboModuleRegistry.getEnforcing<Spec>('HelpScoutBeacon');
@@ -1,4 +1,9 @@
-import { NativeModules, Platform } from 'react-native';
+import {
+  InteractionManager,
+  NativeEventEmitter,
+  NativeModules,
+  Platform,
+} from 'react-native';
 
 const LINKING_ERROR =
   `The package 'react-native-help-scout-beacon' doesn't seem to be linked. Make sure: \n\n` +
@@ -6,16 +11,45 @@ const LINKING_ERROR =
   '- You rebuilt the app after installing the package\n' +
   '- You are not using Expo managed workflow\n';
 
-const HelpScoutBeacon = NativeModules.HelpScoutBeacon
-  ? NativeModules.HelpScoutBeacon
-  : new Proxy(
-      {},
-      {
-        get() {
-          throw new Error(LINKING_ERROR);
-        },
-      }
-    );
+// @ts-expect-error
+const isTurboModuleEnabled = global.__turboModuleProxy != null;
+
+// The native module is looked up on first use rather than on import, so the native side (and the
+// Beacon SDK it loads) is only initialized once the app actually calls into it.
+let nativeModule: any;
+const getNativeModule = () => {
+  if (!nativeModule) {
+    nativeModule = isTurboModuleEnabled
+      ? require('./NativeHelpScoutBeacon').default
+      : NativeModules.HelpScoutBeacon;
+    if (!nativeModule) {
+      throw new Error(LINKING_ERROR);
+    }
+  }
+  return nativeModule;
+};
+
+const HelpScoutBeacon: any = new Proxy(
+  {},
+  {
+    get(_target, property) {
+      return getNativeModule()[property];
+    },
+  }
+);
+
+const PERFORMANCE_STATS_EVENT = 'HelpScoutBeaconPerformanceStats';
+const SIGNATURE_REQUEST_EVENT = 'HelpScoutBeaconSignatureRequest';
+const EVENTS_EVENT = 'HelpScoutBeaconEvents';
+
+let eventEmitter: NativeEventEmitter | undefined;
+let signatureRequestSubscription: { remove: () => void } | undefined;
+const getEventEmitter = () => {
+  if (!eventEmitter) {
+    eventEmitter = new NativeEventEmitter(HelpScoutBeacon);
+  }
+  return eventEmitter;
+};
 
 export declare module HelpScoutBeacon {
   export type FocusMode = 'neutral' | 'self-service' | 'ask-first';
@@ -76,6 +110,157 @@ export declare module HelpScoutBeacon {
     attachments: string[];
     email: string;
   }
+
+  export interface LatencyStats {
+    count: number;
+    meanMs: number;
+    maxMs: number;
+    p50Ms: number;
+    p90Ms: number;
+    p99Ms: number;
+  }
+
+  export interface MethodStats {
+    calls: number;
+    callsPerSecond: number;
+    /** time spent decoding the arguments */
+    decode: LatencyStats;
+    /** time spent in the Beacon SDK */
+    sdk: LatencyStats;
+    total: LatencyStats;
+  }
+
+  export interface PerformanceStats {
+    uptimeMs: number;
+    methods: Record<string, MethodStats>;
+    /** time from a Beacon launch to its first frame */
+    firstFrame: LatencyStats;
+  }
+
+  export interface PromiseStats {
+    /** calls whose promise has not settled yet */
+    outstanding: number;
+    /** calls rejected because they did not complete in time */
+    timedOut: number;
+  }
+
+  export interface Event {
+    type: 'open' | 'close';
+    timestamp: number;
+  }
+
+  export interface EventBatch {
+    /** the events that happened since the previous batch, in order */
+    events: Event[];
+    /** whether the beacon is open after these events */
+    isOpen: boolean;
+  }
+
+  /**
+   * Returns the Secure Mode signature of an email, either as a string or with how long it can be
+   * reused.
+   */
+  export type SignatureProvider = (
+    email: string
+  ) => Promise<string | { signature: string; ttlMs: number }>;
+
+  export type Operation =
+    | { type: 'open'; settings: Settings; signature?: string }
+    | { type: 'identify'; identity: Identity }
+    | { type: 'logout' }
+    | { type: 'suggest'; suggestions: Suggestion[] }
+    | {
+        type: 'navigate';
+        route: Route;
+        settings: Settings;
+        signature?: string;
+        articleId?: string;
+      }
+    | {
+        type: 'search';
+        query: string;
+        settings: Settings;
+        signature?: string;
+      }
+    | { type: 'prefillContactForm'; formData: ContactFormData }
+    | { type: 'resetContactForm' }
+    | { type: 'resetPrefilledForm' };
+}
+
+/**
+ * Collects Beacon calls so they can be sent to the native side in a single bridge crossing.
+ *
+ * Operations are applied in the order they were added.
+ */
+export class BeaconBatch {
+  private readonly operations: HelpScoutBeacon.Operation[] = [];
+
+  open(settings: HelpScoutBeacon.Settings, signature?: string) {
+    this.operations.push({ type: 'open', settings, signature });
+    return this;
+  }
+
+  identify(identity: HelpScoutBeacon.Identity) {
+    this.operations.push({ type: 'identify', identity });
+    return this;
+  }
+
+  logout() {
+    this.operations.push({ type: 'logout' });
+    return this;
+  }
+
+  suggest(suggestions: HelpScoutBeacon.Suggestion[]) {
+    this.operations.push({ type: 'suggest', suggestions });
+    return this;
+  }
+
+  navigate(
+    route: HelpScoutBeacon.Route,
+    settings: HelpScoutBeacon.Settings,
+    signature?: string,
+    articleId?: string
+  ) {
+    this.operations.push({
+      type: 'navigate',
+      route,
+      settings,
+      signature,
+      articleId,
+    });
+    return this;
+  }
+
+  search(
+    query: string,
+    settings: HelpScoutBeacon.Settings,
+    signature?: string
+  ) {
+    this.operations.push({ type: 'search', query, settings, signature });
+    return this;
+  }
+
+  prefillContactForm(formData: HelpScoutBeacon.ContactFormData) {
+    this.operations.push({ type: 'prefillContactForm', formData });
+    return this;
+  }
+
+  resetContactForm() {
+    this.operations.push({ type: 'resetContactForm' });
+    return this;
+  }
+
+  resetPrefilledForm() {
+    this.operations.push({ type: 'resetPrefilledForm' });
+    return this;
+  }
+
+  /**
+   * Sends every collected operation to the native side at once.
+   */
+  apply(): Promise<void> {
+    return HelpScoutBeacon.applyBatch(this.operations);
+  }
 }
 
 export default {
@@ -90,16 +275,19 @@ export default {
    * @param settings The settings used to show the beacon
    * @param signature The signature to be used in Secure Mode. Can be undefined for Normal Mode usage.
    */
-  open: (settings: HelpScoutBeacon.Settings, signature?: string) => {
-    HelpScoutBeacon.open(settings, signature);
+  open: (
+    settings: HelpScoutBeacon.Settings,
+    signature?: string
+  ): Promise<void> => {
+    return HelpScoutBeacon.open(settings, signature);
   },
   /**
    * Authenticates the user. You can provide the name and email address to pre-populate and hide the fields on the ‘Create a message’ screen.
    *
    * @param identity the email is required.
    */
-  identify: (identity: HelpScoutBeacon.Identity) => {
-    HelpScoutBeacon.identify(identity);
+  identify: (identity: HelpScoutBeacon.Identity): Promise<void> => {
+    return HelpScoutBeacon.identify(identity);
   },
   /**
    * Calling this method resets the current Beacon state, and clears the following data stored in the app-specific Keychain:
@@ -107,22 +295,113 @@ export default {
    *  - Name
    *  - Email
    */
-  logout: () => {
-    HelpScoutBeacon.logout();
+  logout: (): Promise<void> => {
+    return HelpScoutBeacon.logout();
   },
   /**
    * Registers a token for receiving push notifications related to helpscout.
    * @param token the push notification token received from APNS or GCM
    */
-  registerPushNotificationToken: (token: string) => {
-    HelpScoutBeacon.registerPushNotificationToken(token);
+  registerPushNotificationToken: (token: string): Promise<void> => {
+    return HelpScoutBeacon.registerPushNotificationToken(token);
   },
   /**
    * Suggests links or articles for the user
    * @param suggestions the suggestions array
    */
-  suggest: (suggestions: HelpScoutBeacon.Suggestion[]) => {
-    HelpScoutBeacon.suggest(suggestions);
+  suggest: (suggestions: HelpScoutBeacon.Suggestion[]): Promise<void> => {
+    return HelpScoutBeacon.suggest(suggestions);
+  },
+  /**
+   * Parses and stores a suggestion set natively so it can later be applied with `useSuggestionSet`
+   * without sending the suggestions again. Only the most recently used sets are kept.
+   *
+   * Android only.
+   * @param key the name of the set
+   * @param suggestions the suggestions array
+   */
+  registerSuggestionSet: (
+    key: string,
+    suggestions: HelpScoutBeacon.Suggestion[]
+  ): Promise<void> => {
+    return HelpScoutBeacon.registerSuggestionSet(key, suggestions);
+  },
+  /**
+   * Suggests the links or articles of a set registered with `registerSuggestionSet`.
+   *
+   * Android only.
+   * @param key the name of the set
+   */
+  useSuggestionSet: (key: string): Promise<void> => {
+    return HelpScoutBeacon.useSuggestionSet(key);
+  },
+  /**
+   * Beacon keeps up to 30 attributes per identity. When an identity has more, the keys given
+   * here are kept first, then the ones already sent; the others are left out.
+   * Applies to the current identity right away.
+   *
+   * Android only.
+   * @param keys attribute keys, most important first
+   */
+  setAttributePriority: (keys: string[]): Promise<void> => {
+    return HelpScoutBeacon.setAttributePriority(keys);
+  },
+  /**
+   * Registers a beacon under a name, so it can be opened with `openBeacon`, `navigateBeacon` or
+   * `searchBeacon` without sending its settings again. Each registered beacon keeps its own
+   * identity and suggestions, restored when switching back to it.
+   *
+   * Android only.
+   * @param name the name of the beacon, e.g. "support" or "sales"
+   * @param settings the settings of the beacon, with an optional identity
+   */
+  registerBeacon: (
+    name: string,
+    settings: HelpScoutBeacon.Settings
+  ): Promise<void> => {
+    return HelpScoutBeacon.registerBeacon(name, settings);
+  },
+  /**
+   * Opens a beacon registered with `registerBeacon`.
+   *
+   * Android only.
+   * @param name the name of the beacon
+   * @param signature The signature to be used in Secure Mode. Can be undefined for Normal Mode usage.
+   */
+  openBeacon: (name: string, signature?: string): Promise<void> => {
+    return HelpScoutBeacon.openBeacon(name, signature);
+  },
+  /**
+   * Opens a beacon registered with `registerBeacon` on a specific screen.
+   *
+   * Android only.
+   * @param name the name of the beacon
+   * @param route The route to navigate to
+   * @param signature The signature to be used in Secure Mode. Can be undefined for Normal Mode usage.
+   * @param articleId The articleId (required when route is article)
+   */
+  navigateBeacon: (
+    name: string,
+    route: HelpScoutBeacon.Route,
+    signature?: string,
+    articleId?: string
+  ): Promise<void> => {
+    return HelpScoutBeacon.navigateBeacon(name, route, signature, articleId);
+  },
+  /**
+   * Opens a beacon registered with `registerBeacon` on the results of a docs search.
+   *
+   * Android only.
+   * @param name the name of the beacon
+   * @param query The search query
+   * @param signature The signature to be used in Secure Mode. Can be undefined for Normal Mode usage.
+   */
+  searchBeacon: (
+    name: string,
+    query: string,
+    signature?: string
+  ): Promise<void> => {
+    return HelpScoutBeacon.searchBeacon(name, query, signature);
   },
   /**
    * This method opens the Beacon and shows a specific screen
@@ -139,8 +418,8 @@ export default {
     settings: HelpScoutBeacon.Settings,
     signature?: string,
     articleId?: string
-  ) => {
-    HelpScoutBeacon.navigate(route, settings, signature, articleId);
+  ): Promise<void> => {
+    return HelpScoutBeacon.navigate(route, settings, signature, articleId);
   },
   /**
    * This method opens the Beacon, searches docs articles and loads the results screen
@@ -156,16 +435,212 @@ export default {
     query: string,
     settings: HelpScoutBeacon.Settings,
     signature?: string
+  ): Promise<void> => {
+    return HelpScoutBeacon.search(query, settings, signature);
+  },
+  /**
+   * Prefills the contact form. Attachments are copied into the app cache, and large images are
+   * downscaled, before the form is handed to Beacon; the promise resolves once they are ready and
+   * rejects with e.g. `attachments-too-large`.
+   *
+   * @param formData the form
+   */
+  prefillContactForm: (
+    formData: HelpScoutBeacon.ContactFormData
+  ): Promise<void> => {
+    return HelpScoutBeacon.prefillContactForm(formData);
+  },
+  /**
+   * Decodes and stores a contact form natively so it can later be prefilled with
+   * `prefillFromTemplate`, sending only the values that change. Fields, custom field values and
+   * attachments may contain `{{name}}` placeholders. Write `\{{` for a literal `{{`, e.g. in
+   * JSON or log excerpts (`'\\{{'` in a JS string literal).
+   *
+   * Android only.
+   * @param key the name of the template
+   * @param formData the form, with placeholders
+   */
+  registerFormTemplate: (
+    key: string,
+    formData: HelpScoutBeacon.ContactFormData
+  ): Promise<void> => {
+    return HelpScoutBeacon.registerFormTemplate(key, formData);
+  },
+  /**
+   * Prefills the contact form registered with `registerFormTemplate`, replacing its placeholders
+   * with the variables. Rejects if a placeholder has no value.
+   *
+   * Android only.
+   * @param key the name of the template
+   * @param variables the placeholder values, by name
+   */
+  prefillFromTemplate: (
+    key: string,
+    variables: Record<string, string>
+  ): Promise<void> => {
+    return HelpScoutBeacon.prefillFromTemplate(key, variables);
+  },
+  resetContactForm: (): Promise<void> => {
+    return HelpScoutBeacon.resetContactForm();
+  },
+  resetPrefilledForm: (): Promise<void> => {
+    return HelpScoutBeacon.resetPrefilledForm();
+  },
+  /**
+   * Sets how long after a launch further `open`, `navigate` and `search` calls are coalesced. Only
+   * the latest call of a burst opens the beacon, and repeats of the call that opened it are dropped.
+   * Defaults to 300ms; 0 disables coalescing.
+   *
+   * Android only.
+   * @param windowMs the coalescing window in milliseconds
+   */
+  setLaunchCoalescingWindow: (windowMs: number): Promise<void> => {
+    return HelpScoutBeacon.setLaunchCoalescingWindow(windowMs);
+  },
+  /**
+   * Sets how long a native call may take before its promise is rejected with a `timeout` code.
+   * Defaults to 60 seconds; 0 disables the timeout.
+   *
+   * Android only.
+   * @param timeoutMs the timeout in milliseconds
+   */
+  setPromiseTimeout: (timeoutMs: number): Promise<void> => {
+    return HelpScoutBeacon.setPromiseTimeout(timeoutMs);
+  },
+  /**
+   * Returns how many native calls are still pending and how many timed out.
+   *
+   * Android only.
+   */
+  getPromiseStats: (): Promise<HelpScoutBeacon.PromiseStats> => {
+    return HelpScoutBeacon.getPromiseStats();
+  },
+  /**
+   * Writes the last native calls (method, argument fingerprint, thread, timing and outcome) to a
+   * file and returns its URI, ready to pass as an attachment to `prefillContactForm`.
+   *
+   * Android only.
+   * @param path the file to write, defaults to a file in the app cache
+   */
+  dumpTrace: (path?: string): Promise<string> => {
+    return HelpScoutBeacon.dumpTrace(path);
+  },
+  /**
+   * Listens to the beacon being opened and closed. Events happening in quick succession are
+   * delivered together.
+   *
+   * Android only.
+   * @param listener called with each batch of events
+   * @returns a function that removes the listener
+   */
+  addEventListener: (listener: (batch: HelpScoutBeacon.EventBatch) => void) => {
+    const subscription = getEventEmitter().addListener(EVENTS_EVENT, listener);
+    return () => subscription.remove();
+  },
+  /**
+   * Returns the latency and throughput of every native method called so far.
+   *
+   * Android only.
+   */
+  getPerformanceStats: (): Promise<HelpScoutBeacon.PerformanceStats> => {
+    return HelpScoutBeacon.getPerformanceStats();
+  },
+  /**
+   * Emits the performance stats periodically to the given listener.
+   *
+   * Android only.
+   * @param intervalMs how often the stats are emitted, in milliseconds
+   * @param listener called with the stats
+   * @returns a function that stops the reporting
+   */
+  addPerformanceStatsListener: (
+    intervalMs: number,
+    listener: (stats: HelpScoutBeacon.PerformanceStats) => void
   ) => {
-    HelpScoutBeacon.search(query, settings, signature);
+    const subscription = getEventEmitter().addListener(
+      PERFORMANCE_STATS_EVENT,
+      listener
+    );
+    HelpScoutBeacon.setPerformanceStatsInterval(intervalMs);
+    return () => {
+      subscription.remove();
+      HelpScoutBeacon.setPerformanceStatsInterval(0);
+    };
   },
-  prefillContactForm: (formData: HelpScoutBeacon.ContactFormData) => {
-    HelpScoutBeacon.prefillContactForm(formData);
+  /**
+   * Registers a function that provides Secure Mode signatures. When `open`, `navigate` or `search`
+   * are called without a signature, the signature of the identified user is taken from the provider.
+   * Signatures are cached per email and fetched in the background after `identify`.
+   *
+   * Android only.
+   * @param provider the provider, or undefined to stop using one
+   * @param ttlMs how long a signature is reused when the provider does not say (default 15 minutes)
+   */
+  setSignatureProvider: (
+    provider: HelpScoutBeacon.SignatureProvider | undefined,
+    ttlMs: number = 0
+  ): Promise<void> => {
+    signatureRequestSubscription?.remove();
+    signatureRequestSubscription = undefined;
+    if (provider) {
+      signatureRequestSubscription = getEventEmitter().addListener(
+        SIGNATURE_REQUEST_EVENT,
+        ({ requestId, email }: { requestId: number; email: string }) => {
+          provider(email).then(
+            (result) => {
+              if (typeof result === 'string') {
+                HelpScoutBeacon.resolveSignatureRequest(requestId, result, 0, null);
+              } else {
+                HelpScoutBeacon.resolveSignatureRequest(
+                  requestId,
+                  result.signature,
+                  result.ttlMs,
+                  null
+                );
+              }
+            },
+            (error) => {
+              HelpScoutBeacon.resolveSignatureRequest(
+                requestId,
+                null,
+                0,
+                String(error)
+              );
+            }
+          );
+        }
+      );
+    }
+    return HelpScoutBeacon.setJsSignatureProvider(!!provider, ttlMs);
   },
-  resetContactForm: () => {
-    HelpScoutBeacon.resetContactForm();
+  /**
+   * Initializes the beacon and preloads its screens in the background once the current interactions
+   * are done, so the first call to `open` is as fast as the following ones.
+   *
+   * Android only.
+   * @param settings The settings that will be used to show the beacon
+   */
+  prewarm: (settings: HelpScoutBeacon.Settings): Promise<void> => {
+    return new Promise((resolve, reject) => {
+      InteractionManager.runAfterInteractions(() => {
+        HelpScoutBeacon.prewarm(settings).then(resolve, reject);
+      });
+    });
   },
-  resetPrefilledForm: () => {
-    HelpScoutBeacon.resetPrefilledForm();
+  /**
+   * Starts a batch of operations that are sent to the native side in a single call, e.g.
+   * `Beacon.batch().identify(identity).suggest(suggestions).open(settings).apply()`.
+   *
+   * Android only.
+   */
+  batch: () => new BeaconBatch(),
+  /**
+   * Applies an ordered list of operations in a single native call.
+   *
+   * Android only.
+   * @param operations the operations to apply, in order
+   */
+  applyBatch: (operations: HelpScoutBeacon.Operation[]): Promise<void> => {
+    return HelpScoutBeacon.applyBatch(operations);
   },
 };